@@ -0,0 +1,1289 @@
+package com.barcellos.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * {@link NavigableMap} sobre uma B+tree em memória, alternativa a
+ * {@link java.util.TreeMap}.
+ *
+ * A {@code TreeMap} é uma árvore rubro-negra com um objeto {@code Entry}
+ * por chave (cerca de 40 bytes com compressed oops) e cada passo de uma
+ * busca ou iteração é um ponteiro para outra região do heap. Aqui as chaves
+ * e valores ficam em arrays de até {@link #LEAF_CAPACITY} posições nas
+ * folhas, e as folhas são ligadas entre si: uma varredura de intervalo
+ * ({@code subMap}, {@code headMap}, {@code tailMap}) percorre arrays em
+ * sequência, e com as folhas cheias o custo fixo cai para cerca de 9 bytes
+ * por entrada. Os nós internos guardam só separadores e filhos.
+ *
+ * Inserções em ordem crescente deixam as folhas cheias (a divisão da última
+ * folha mantém a esquerda completa); em ordem aleatória a ocupação fica
+ * perto de 70%. A remoção segue a estratégia "free-at-empty": um nó só sai
+ * da árvore quando fica vazio, sem redistribuição nem fusão, o que mantém o
+ * código simples e na prática quase não afeta a altura.
+ *
+ * Os construtores a partir de um {@link SortedMap} e {@link #fromSorted}
+ * montam a árvore de baixo para cima em O(n), com as folhas cheias.
+ *
+ * Como {@code TreeMap}: não é thread-safe, os iteradores são fail-fast e
+ * as visões ({@code subMap}, {@code descendingMap}, {@code keySet}, ...)
+ * refletem as alterações do mapa. As entradas do iterador de
+ * {@code entrySet()} aceitam {@code setValue} (e, com isso,
+ * {@code replaceAll}); as de {@code firstEntry}, {@code floorEntry} etc. são
+ * cópias imutáveis. Chaves nulas só com um comparador que as aceite.
+ */
+public class BTreeMap<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+    public static final int LEAF_CAPACITY = 64;
+    public static final int INNER_CAPACITY = 64;
+
+    private static final Object NOT_FOUND = new Object();
+
+    private final Comparator<? super K> comparator;
+    private final View<K, V> all;
+
+    private Node root = new Leaf();
+    private int size;
+    private int modCount;
+
+    // Resultados auxiliares da inserção recursiva.
+    private Object splitKey;
+    private Object oldValue;
+    private boolean replaced;
+
+    public BTreeMap() {
+        this((Comparator<? super K>) null);
+    }
+
+    public BTreeMap(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+        this.all = new View<>(this, true, null, false, true, null, false, false);
+    }
+
+    public BTreeMap(Map<? extends K, ? extends V> map) {
+        this((Comparator<? super K>) null);
+        putAll(map);
+    }
+
+    /**
+     * Cópia de um mapa já ordenado, com o mesmo comparador, montada em O(n).
+     */
+    public BTreeMap(SortedMap<K, ? extends V> sorted) {
+        this(sorted.comparator());
+        buildFromSorted(sorted.entrySet().iterator(), null, false);
+    }
+
+    /**
+     * Monta um mapa em O(n) a partir de entradas em ordem estritamente
+     * crescente segundo {@code comparator} ({@code null} para a ordem
+     * natural).
+     *
+     * @throws IllegalArgumentException se as chaves não estiverem em ordem
+     *                                  estritamente crescente
+     */
+    public static <K, V> BTreeMap<K, V> fromSorted(Comparator<? super K> comparator,
+            Iterable<? extends Map.Entry<? extends K, ? extends V>> entries) {
+        BTreeMap<K, V> map = new BTreeMap<>(comparator);
+        map.buildFromSorted(entries.iterator(), null, true);
+        return map;
+    }
+
+    // Operações do mapa inteiro, delegadas à visão sem limites
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object value = find(key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        checkKey(key);
+        replaced = false;
+        Node right = insert(root, key, value);
+        if (right != null) {
+            Inner newRoot = new Inner();
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.keys[0] = splitKey;
+            newRoot.size = 2;
+            root = newRoot;
+        }
+        V old = replaced ? (V) oldValue : null;
+        splitKey = null;
+        oldValue = null;
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        checkKey(key);
+        Object old = delete(root, key);
+        if (old == NOT_FOUND) {
+            return null;
+        }
+        size--;
+        modCount++;
+        while (root instanceof Inner && root.size == 1) {
+            root = ((Inner) root).children[0];
+        }
+        return (V) old;
+    }
+
+    @Override
+    public void clear() {
+        root = new Leaf();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return all.entrySet();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return all.navigableKeySet();
+    }
+
+    @Override
+    public Collection<V> values() {
+        return all.values();
+    }
+
+    @Override
+    public Map.Entry<K, V> lowerEntry(K key) {
+        return all.lowerEntry(key);
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return all.lowerKey(key);
+    }
+
+    @Override
+    public Map.Entry<K, V> floorEntry(K key) {
+        return all.floorEntry(key);
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return all.floorKey(key);
+    }
+
+    @Override
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        return all.ceilingEntry(key);
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return all.ceilingKey(key);
+    }
+
+    @Override
+    public Map.Entry<K, V> higherEntry(K key) {
+        return all.higherEntry(key);
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return all.higherKey(key);
+    }
+
+    @Override
+    public Map.Entry<K, V> firstEntry() {
+        return all.firstEntry();
+    }
+
+    @Override
+    public Map.Entry<K, V> lastEntry() {
+        return all.lastEntry();
+    }
+
+    @Override
+    public Map.Entry<K, V> pollFirstEntry() {
+        return all.pollFirstEntry();
+    }
+
+    @Override
+    public Map.Entry<K, V> pollLastEntry() {
+        return all.pollLastEntry();
+    }
+
+    @Override
+    public K firstKey() {
+        return all.firstKey();
+    }
+
+    @Override
+    public K lastKey() {
+        return all.lastKey();
+    }
+
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        return all.descendingMap();
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return all.navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return all.descendingKeySet();
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        return all.subMap(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        return all.headMap(toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        return all.tailMap(fromKey, inclusive);
+    }
+
+    @Override
+    public SortedMap<K, V> subMap(K fromKey, K toKey) {
+        return all.subMap(fromKey, toKey);
+    }
+
+    @Override
+    public SortedMap<K, V> headMap(K toKey) {
+        return all.headMap(toKey);
+    }
+
+    @Override
+    public SortedMap<K, V> tailMap(K fromKey) {
+        return all.tailMap(fromKey);
+    }
+
+    View<K, V> view() {
+        return all;
+    }
+
+    // Estrutura da árvore
+
+    private abstract static class Node {
+
+        int size;
+        final Object[] keys;
+
+        Node(int keyCapacity) {
+            this.keys = new Object[keyCapacity];
+        }
+    }
+
+    /**
+     * Folha: {@code size} chaves em ordem e os valores nas mesmas posições.
+     */
+    private static final class Leaf extends Node {
+
+        final Object[] values = new Object[LEAF_CAPACITY];
+        Leaf next;
+        Leaf prev;
+
+        Leaf() {
+            super(LEAF_CAPACITY);
+        }
+    }
+
+    /**
+     * Nó interno: {@code size} filhos e {@code size - 1} separadores. Todas
+     * as chaves do filho {@code i} são menores que {@code keys[i]} e todas as
+     * do filho {@code i + 1} são maiores ou iguais a ele.
+     */
+    private static final class Inner extends Node {
+
+        final Node[] children = new Node[INNER_CAPACITY];
+
+        Inner() {
+            super(INNER_CAPACITY - 1);
+        }
+    }
+
+    /**
+     * Posição de uma entrada: folha e índice.
+     */
+    static final class Cursor {
+
+        final Leaf leaf;
+        final int index;
+
+        Cursor(Leaf leaf, int index) {
+            this.leaf = leaf;
+            this.index = index;
+        }
+
+        Object key() {
+            return leaf.keys[index];
+        }
+
+        Object value() {
+            return leaf.values[index];
+        }
+    }
+
+    /**
+     * Entrada do iterador de {@code entrySet()}, ligada à posição na folha:
+     * {@code setValue} escreve no mapa, como na {@code TreeMap}, enquanto o
+     * mapa não sofrer mudança estrutural.
+     */
+    final class Entry implements Map.Entry<K, V> {
+
+        private final Leaf leaf;
+        private final int index;
+        private final K key;
+        private final int expectedModCount = modCount;
+
+        @SuppressWarnings("unchecked")
+        Entry(Leaf leaf, int index) {
+            this.leaf = leaf;
+            this.index = index;
+            this.key = (K) leaf.keys[index];
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return modCount == expectedModCount ? (V) leaf.values[index] : get(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            V old = (V) leaf.values[index];
+            leaf.values[index] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    private void checkKey(Object key) {
+        if (key == null && comparator == null) {
+            throw new NullPointerException("key");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final int compare(Object a, Object b) {
+        if (comparator != null) {
+            return comparator.compare((K) a, (K) b);
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private int search(Object[] keys, int count, Object key) {
+        int lo = 0;
+        int hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compare(keys[mid], key);
+            if (c < 0) {
+                lo = mid + 1;
+            } else if (c > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    private int childIndex(Inner inner, Object key) {
+        int i = search(inner.keys, inner.size - 1, key);
+        return i >= 0 ? i + 1 : -(i + 1);
+    }
+
+    private Leaf findLeaf(Object key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    private Object find(Object key) {
+        checkKey(key);
+        Leaf leaf = findLeaf(key);
+        int i = search(leaf.keys, leaf.size, key);
+        return i >= 0 ? leaf.values[i] : NOT_FOUND;
+    }
+
+    /**
+     * @return o novo irmão à direita se {@code node} foi dividido (com o
+     *         separador em {@link #splitKey}); senão {@code null}
+     */
+    private Node insert(Node node, Object key, Object value) {
+        if (node instanceof Leaf) {
+            return insertIntoLeaf((Leaf) node, key, value);
+        }
+        Inner inner = (Inner) node;
+        int c = childIndex(inner, key);
+        Node right = insert(inner.children[c], key, value);
+        return right == null ? null : insertChild(inner, c + 1, splitKey, right);
+    }
+
+    private Node insertIntoLeaf(Leaf leaf, Object key, Object value) {
+        int i = search(leaf.keys, leaf.size, key);
+        if (i >= 0) {
+            oldValue = leaf.values[i];
+            replaced = true;
+            leaf.values[i] = value;
+            return null;
+        }
+        int pos = -(i + 1);
+        size++;
+        modCount++;
+        if (leaf.size < LEAF_CAPACITY) {
+            insertAt(leaf, pos, key, value);
+            return null;
+        }
+
+        // Inserindo depois da última chave do mapa (carga em ordem), a folha
+        // da esquerda fica cheia; nos outros casos, divide ao meio.
+        int half = pos == LEAF_CAPACITY && leaf.next == null ? LEAF_CAPACITY : LEAF_CAPACITY / 2;
+        Leaf right = new Leaf();
+        int moved = LEAF_CAPACITY - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, moved);
+        System.arraycopy(leaf.values, half, right.values, 0, moved);
+        Arrays.fill(leaf.keys, half, LEAF_CAPACITY, null);
+        Arrays.fill(leaf.values, half, LEAF_CAPACITY, null);
+        right.size = moved;
+        leaf.size = half;
+
+        right.next = leaf.next;
+        if (right.next != null) {
+            right.next.prev = right;
+        }
+        right.prev = leaf;
+        leaf.next = right;
+
+        if (pos < half) {
+            insertAt(leaf, pos, key, value);
+        } else {
+            insertAt(right, pos - half, key, value);
+        }
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    private static void insertAt(Leaf leaf, int pos, Object key, Object value) {
+        System.arraycopy(leaf.keys, pos, leaf.keys, pos + 1, leaf.size - pos);
+        System.arraycopy(leaf.values, pos, leaf.values, pos + 1, leaf.size - pos);
+        leaf.keys[pos] = key;
+        leaf.values[pos] = value;
+        leaf.size++;
+    }
+
+    /**
+     * Insere {@code child} na posição {@code pos}, com {@code separator}
+     * como limite inferior; divide {@code inner} ao meio se estiver cheio.
+     */
+    private Node insertChild(Inner inner, int pos, Object separator, Node child) {
+        if (inner.size < INNER_CAPACITY) {
+            insertChildAt(inner, pos, separator, child);
+            return null;
+        }
+
+        int half = INNER_CAPACITY / 2;
+        Inner right = new Inner();
+        System.arraycopy(inner.children, half, right.children, 0, INNER_CAPACITY - half);
+        System.arraycopy(inner.keys, half, right.keys, 0, INNER_CAPACITY - half - 1);
+        Object pushedUp = inner.keys[half - 1];
+        Arrays.fill(inner.children, half, INNER_CAPACITY, null);
+        Arrays.fill(inner.keys, half - 1, INNER_CAPACITY - 1, null);
+        right.size = INNER_CAPACITY - half;
+        inner.size = half;
+
+        if (pos <= half) {
+            insertChildAt(inner, pos, separator, child);
+        } else {
+            insertChildAt(right, pos - half, separator, child);
+        }
+        splitKey = pushedUp;
+        return right;
+    }
+
+    private static void insertChildAt(Inner inner, int pos, Object separator, Node child) {
+        System.arraycopy(inner.children, pos, inner.children, pos + 1, inner.size - pos);
+        System.arraycopy(inner.keys, pos - 1, inner.keys, pos, inner.size - pos);
+        inner.children[pos] = child;
+        inner.keys[pos - 1] = separator;
+        inner.size++;
+    }
+
+    /**
+     * @return o valor removido ou {@link #NOT_FOUND}
+     */
+    private Object delete(Node node, Object key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = search(leaf.keys, leaf.size, key);
+            if (i < 0) {
+                return NOT_FOUND;
+            }
+            Object old = leaf.values[i];
+            int tail = leaf.size - i - 1;
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, tail);
+            System.arraycopy(leaf.values, i + 1, leaf.values, i, tail);
+            leaf.size--;
+            leaf.keys[leaf.size] = null;
+            leaf.values[leaf.size] = null;
+            if (leaf.size == 0 && leaf != root) {
+                unlink(leaf);
+            }
+            return old;
+        }
+
+        Inner inner = (Inner) node;
+        int c = childIndex(inner, key);
+        Node child = inner.children[c];
+        Object old = delete(child, key);
+        if (old != NOT_FOUND && child.size == 0) {
+            removeChild(inner, c);
+        }
+        return old;
+    }
+
+    private static void unlink(Leaf leaf) {
+        if (leaf.prev != null) {
+            leaf.prev.next = leaf.next;
+        }
+        if (leaf.next != null) {
+            leaf.next.prev = leaf.prev;
+        }
+        leaf.prev = null;
+        leaf.next = null;
+    }
+
+    private static void removeChild(Inner inner, int c) {
+        System.arraycopy(inner.children, c + 1, inner.children, c, inner.size - c - 1);
+        inner.children[inner.size - 1] = null;
+        if (inner.size > 1) {
+            // Some o separador à esquerda do filho (ou o primeiro, se ele era
+            // o primeiro filho); os limites dos vizinhos continuam válidos.
+            int k = c > 0 ? c - 1 : 0;
+            System.arraycopy(inner.keys, k + 1, inner.keys, k, inner.size - k - 2);
+            inner.keys[inner.size - 2] = null;
+        }
+        inner.size--;
+    }
+
+    /**
+     * Monta a árvore de baixo para cima: folhas cheias, na ordem dada, e
+     * depois cada nível de nós internos sobre o anterior.
+     *
+     * @param present se não for {@code null}, {@code items} são chaves e
+     *                todas recebem este valor; senão são entradas
+     */
+    void buildFromSorted(Iterator<?> items, Object present, boolean validate) {
+        List<Node> level = new ArrayList<>();
+        List<Object> lows = new ArrayList<>();
+        Leaf leaf = null;
+        Object last = null;
+        int count = 0;
+
+        while (items.hasNext()) {
+            Object item = items.next();
+            Object key;
+            Object value;
+            if (present != null) {
+                key = item;
+                value = present;
+            } else {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) item;
+                key = entry.getKey();
+                value = entry.getValue();
+            }
+            checkKey(key);
+            if (validate && count > 0 && compare(last, key) >= 0) {
+                throw new IllegalArgumentException("Keys not in strictly ascending order: " + last + ", " + key);
+            }
+            if (leaf == null || leaf.size == LEAF_CAPACITY) {
+                Leaf next = new Leaf();
+                if (leaf != null) {
+                    leaf.next = next;
+                    next.prev = leaf;
+                }
+                leaf = next;
+                level.add(leaf);
+                lows.add(key);
+            }
+            leaf.keys[leaf.size] = key;
+            leaf.values[leaf.size++] = value;
+            last = key;
+            count++;
+        }
+        if (level.isEmpty()) {
+            return;
+        }
+
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>();
+            List<Object> parentLows = new ArrayList<>();
+            for (int i = 0; i < level.size(); i += INNER_CAPACITY) {
+                int end = Math.min(i + INNER_CAPACITY, level.size());
+                Inner inner = new Inner();
+                for (int j = i; j < end; j++) {
+                    inner.children[j - i] = level.get(j);
+                    if (j > i) {
+                        inner.keys[j - i - 1] = lows.get(j);
+                    }
+                }
+                inner.size = end - i;
+                parents.add(inner);
+                parentLows.add(lows.get(i));
+            }
+            level = parents;
+            lows = parentLows;
+        }
+        root = level.get(0);
+        size = count;
+        modCount++;
+    }
+
+    // Navegação por posição
+
+    private Cursor first() {
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[0];
+        }
+        return node.size == 0 ? null : new Cursor((Leaf) node, 0);
+    }
+
+    private Cursor last() {
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[node.size - 1];
+        }
+        return node.size == 0 ? null : new Cursor((Leaf) node, node.size - 1);
+    }
+
+    /**
+     * Primeira entrada maior (ou igual, se {@code inclusive}) que
+     * {@code key}.
+     */
+    private Cursor ceiling(Object key, boolean inclusive) {
+        checkKey(key);
+        Leaf leaf = findLeaf(key);
+        int i = search(leaf.keys, leaf.size, key);
+        int index = i >= 0 ? (inclusive ? i : i + 1) : -(i + 1);
+        if (index < leaf.size) {
+            return new Cursor(leaf, index);
+        }
+        return leaf.next == null ? null : new Cursor(leaf.next, 0);
+    }
+
+    /**
+     * Última entrada menor (ou igual, se {@code inclusive}) que {@code key}.
+     */
+    private Cursor floor(Object key, boolean inclusive) {
+        checkKey(key);
+        Leaf leaf = findLeaf(key);
+        int i = search(leaf.keys, leaf.size, key);
+        int index = i >= 0 ? (inclusive ? i : i - 1) : -(i + 1) - 1;
+        if (index >= 0) {
+            return new Cursor(leaf, index);
+        }
+        return leaf.prev == null ? null : new Cursor(leaf.prev, leaf.prev.size - 1);
+    }
+
+    /**
+     * Visão de um intervalo do mapa, em ordem crescente ou decrescente. Os
+     * limites são sempre absolutos ({@code lo <= hi} na ordem do mapa).
+     */
+    static final class View<K, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+        final BTreeMap<K, V> m;
+        final boolean fromStart;
+        final Object lo;
+        final boolean loInclusive;
+        final boolean toEnd;
+        final Object hi;
+        final boolean hiInclusive;
+        final boolean descending;
+
+        View(BTreeMap<K, V> m, boolean fromStart, Object lo, boolean loInclusive, boolean toEnd, Object hi,
+                boolean hiInclusive, boolean descending) {
+            if (!fromStart) {
+                m.checkKey(lo);
+            }
+            if (!toEnd) {
+                m.checkKey(hi);
+            }
+            if (!fromStart && !toEnd && m.compare(lo, hi) > 0) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            this.m = m;
+            this.fromStart = fromStart;
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.toEnd = toEnd;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+            this.descending = descending;
+        }
+
+        // Limites
+
+        boolean tooLow(Object key) {
+            if (fromStart) {
+                return false;
+            }
+            int c = m.compare(key, lo);
+            return c < 0 || (c == 0 && !loInclusive);
+        }
+
+        boolean tooHigh(Object key) {
+            if (toEnd) {
+                return false;
+            }
+            int c = m.compare(key, hi);
+            return c > 0 || (c == 0 && !hiInclusive);
+        }
+
+        boolean inRange(Object key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        private boolean inClosedRange(Object key) {
+            return (fromStart || m.compare(key, lo) >= 0) && (toEnd || m.compare(hi, key) >= 0);
+        }
+
+        private boolean inRange(Object key, boolean inclusive) {
+            return inclusive ? inRange(key) : inClosedRange(key);
+        }
+
+        // Navegação em ordem absoluta, restrita ao intervalo
+
+        Cursor absLowest() {
+            Cursor c = fromStart ? m.first() : m.ceiling(lo, loInclusive);
+            return c == null || tooHigh(c.key()) ? null : c;
+        }
+
+        Cursor absHighest() {
+            Cursor c = toEnd ? m.last() : m.floor(hi, hiInclusive);
+            return c == null || tooLow(c.key()) ? null : c;
+        }
+
+        private Cursor absCeiling(Object key, boolean inclusive) {
+            if (tooLow(key)) {
+                return absLowest();
+            }
+            Cursor c = m.ceiling(key, inclusive);
+            return c == null || tooHigh(c.key()) ? null : c;
+        }
+
+        private Cursor absFloor(Object key, boolean inclusive) {
+            if (tooHigh(key)) {
+                return absHighest();
+            }
+            Cursor c = m.floor(key, inclusive);
+            return c == null || tooLow(c.key()) ? null : c;
+        }
+
+        private Cursor lowest() {
+            return descending ? absHighest() : absLowest();
+        }
+
+        private Cursor highest() {
+            return descending ? absLowest() : absHighest();
+        }
+
+        private Cursor above(Object key, boolean inclusive) {
+            return descending ? absFloor(key, inclusive) : absCeiling(key, inclusive);
+        }
+
+        private Cursor below(Object key, boolean inclusive) {
+            return descending ? absCeiling(key, inclusive) : absFloor(key, inclusive);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map.Entry<K, V> entry(Cursor c) {
+            return c == null ? null : new SimpleImmutableEntry<>((K) c.key(), (V) c.value());
+        }
+
+        @SuppressWarnings("unchecked")
+        private K key(Cursor c) {
+            return c == null ? null : (K) c.key();
+        }
+
+        private static <T> T nonNull(T value) {
+            if (value == null) {
+                throw new NoSuchElementException();
+            }
+            return value;
+        }
+
+        // NavigableMap
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return descending ? Collections.reverseOrder(m.comparator) : m.comparator;
+        }
+
+        @Override
+        public Map.Entry<K, V> lowerEntry(K key) {
+            return entry(below(key, false));
+        }
+
+        @Override
+        public K lowerKey(K key) {
+            return key(below(key, false));
+        }
+
+        @Override
+        public Map.Entry<K, V> floorEntry(K key) {
+            return entry(below(key, true));
+        }
+
+        @Override
+        public K floorKey(K key) {
+            return key(below(key, true));
+        }
+
+        @Override
+        public Map.Entry<K, V> ceilingEntry(K key) {
+            return entry(above(key, true));
+        }
+
+        @Override
+        public K ceilingKey(K key) {
+            return key(above(key, true));
+        }
+
+        @Override
+        public Map.Entry<K, V> higherEntry(K key) {
+            return entry(above(key, false));
+        }
+
+        @Override
+        public K higherKey(K key) {
+            return key(above(key, false));
+        }
+
+        @Override
+        public Map.Entry<K, V> firstEntry() {
+            return entry(lowest());
+        }
+
+        @Override
+        public Map.Entry<K, V> lastEntry() {
+            return entry(highest());
+        }
+
+        @Override
+        public Map.Entry<K, V> pollFirstEntry() {
+            Map.Entry<K, V> entry = firstEntry();
+            if (entry != null) {
+                m.remove(entry.getKey());
+            }
+            return entry;
+        }
+
+        @Override
+        public Map.Entry<K, V> pollLastEntry() {
+            Map.Entry<K, V> entry = lastEntry();
+            if (entry != null) {
+                m.remove(entry.getKey());
+            }
+            return entry;
+        }
+
+        @Override
+        public K firstKey() {
+            return key(nonNull(lowest()));
+        }
+
+        @Override
+        public K lastKey() {
+            return key(nonNull(highest()));
+        }
+
+        @Override
+        public NavigableMap<K, V> descendingMap() {
+            return new View<>(m, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+        }
+
+        @Override
+        public NavigableSet<K> navigableKeySet() {
+            return new BTreeSet<>(this, false);
+        }
+
+        @Override
+        public Set<K> keySet() {
+            return navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> descendingKeySet() {
+            return new BTreeSet<>((View<K, V>) descendingMap(), false);
+        }
+
+        @Override
+        public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+            if (!inRange(fromKey, fromInclusive)) {
+                throw new IllegalArgumentException("fromKey out of range");
+            }
+            if (!inRange(toKey, toInclusive)) {
+                throw new IllegalArgumentException("toKey out of range");
+            }
+            if (descending) {
+                return new View<>(m, false, toKey, toInclusive, false, fromKey, fromInclusive, true);
+            }
+            return new View<>(m, false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+            if (!inRange(toKey, inclusive)) {
+                throw new IllegalArgumentException("toKey out of range");
+            }
+            if (descending) {
+                return new View<>(m, false, toKey, inclusive, toEnd, hi, hiInclusive, true);
+            }
+            return new View<>(m, fromStart, lo, loInclusive, false, toKey, inclusive, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+            if (!inRange(fromKey, inclusive)) {
+                throw new IllegalArgumentException("fromKey out of range");
+            }
+            if (descending) {
+                return new View<>(m, fromStart, lo, loInclusive, false, fromKey, inclusive, true);
+            }
+            return new View<>(m, false, fromKey, inclusive, toEnd, hi, hiInclusive, false);
+        }
+
+        @Override
+        public SortedMap<K, V> subMap(K fromKey, K toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        @Override
+        public SortedMap<K, V> headMap(K toKey) {
+            return headMap(toKey, false);
+        }
+
+        @Override
+        public SortedMap<K, V> tailMap(K fromKey) {
+            return tailMap(fromKey, true);
+        }
+
+        // Map
+
+        private boolean unbounded() {
+            return fromStart && toEnd;
+        }
+
+        @Override
+        public int size() {
+            if (unbounded()) {
+                return m.size;
+            }
+            Cursor first = absLowest();
+            if (first == null) {
+                return 0;
+            }
+            Cursor last = absHighest();
+            // Soma folhas inteiras em vez de contar entrada por entrada.
+            int count = 0;
+            for (Leaf leaf = first.leaf; leaf != last.leaf; leaf = leaf.next) {
+                count += leaf.size;
+            }
+            return count - first.index + last.index + 1;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return unbounded() ? m.size == 0 : absLowest() == null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return inRange(key) && m.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key) {
+            return inRange(key) ? m.get(key) : null;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            if (!inRange(key)) {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return m.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return inRange(key) ? m.remove(key) : null;
+        }
+
+        @Override
+        public void clear() {
+            if (unbounded()) {
+                m.clear();
+                return;
+            }
+            for (Iterator<K> it = keyIterator(); it.hasNext();) {
+                it.next();
+                it.remove();
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new ViewIterator<Map.Entry<K, V>>() {
+                        @Override
+                        Map.Entry<K, V> element(Leaf leaf, int index) {
+                            return m.new Entry(leaf, index);
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    if (!(o instanceof Map.Entry)) {
+                        return false;
+                    }
+                    Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                    Object key = entry.getKey();
+                    if (key == null && m.comparator == null) {
+                        return false;
+                    }
+                    if (!inRange(key)) {
+                        return false;
+                    }
+                    Object value = m.find(key);
+                    return value != NOT_FOUND && Objects.equals(value, entry.getValue());
+                }
+
+                @Override
+                public boolean remove(Object o) {
+                    if (!contains(o)) {
+                        return false;
+                    }
+                    m.remove(((Map.Entry<?, ?>) o).getKey());
+                    return true;
+                }
+
+                @Override
+                public int size() {
+                    return View.this.size();
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return View.this.isEmpty();
+                }
+
+                @Override
+                public void clear() {
+                    View.this.clear();
+                }
+            };
+        }
+
+        @Override
+        public Collection<V> values() {
+            return new AbstractCollection<V>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Iterator<V> iterator() {
+                    return new ViewIterator<V>() {
+                        @Override
+                        V element(Leaf leaf, int index) {
+                            return (V) leaf.values[index];
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return View.this.size();
+                }
+
+                @Override
+                public boolean isEmpty() {
+                    return View.this.isEmpty();
+                }
+
+                @Override
+                public void clear() {
+                    View.this.clear();
+                }
+            };
+        }
+
+        Iterator<K> keyIterator() {
+            return new ViewIterator<K>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                K element(Leaf leaf, int index) {
+                    return (K) leaf.keys[index];
+                }
+            };
+        }
+
+        /**
+         * Percorre as folhas ligadas, de {@link #lowest()} até a última
+         * posição do intervalo, calculada uma única vez.
+         */
+        private abstract class ViewIterator<T> implements Iterator<T> {
+
+            private Leaf leaf;
+            private int index;
+            private Leaf fenceLeaf;
+            private int fenceIndex;
+            private Object lastKey;
+            private boolean canRemove;
+            private int expectedModCount = m.modCount;
+
+            ViewIterator() {
+                start(lowest());
+            }
+
+            private void start(Cursor next) {
+                Cursor fence = highest();
+                if (next == null || fence == null) {
+                    leaf = null;
+                    return;
+                }
+                leaf = next.leaf;
+                index = next.index;
+                fenceLeaf = fence.leaf;
+                fenceIndex = fence.index;
+            }
+
+            abstract T element(Leaf leaf, int index);
+
+            @Override
+            public boolean hasNext() {
+                return leaf != null;
+            }
+
+            @Override
+            public T next() {
+                if (m.modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (leaf == null) {
+                    throw new NoSuchElementException();
+                }
+                T result = element(leaf, index);
+                lastKey = leaf.keys[index];
+                canRemove = true;
+
+                if (leaf == fenceLeaf && index == fenceIndex) {
+                    leaf = null;
+                } else if (descending) {
+                    if (--index < 0) {
+                        leaf = leaf.prev;
+                        index = leaf.size - 1;
+                    }
+                } else if (++index == leaf.size) {
+                    leaf = leaf.next;
+                    index = 0;
+                }
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                if (!canRemove) {
+                    throw new IllegalStateException();
+                }
+                if (m.modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                Object nextKey = leaf == null ? null : leaf.keys[index];
+                boolean hasNextKey = leaf != null;
+                m.remove(lastKey);
+                if (hasNextKey) {
+                    start(descending ? m.floor(nextKey, true) : m.ceiling(nextKey, true));
+                }
+                canRemove = false;
+                expectedModCount = m.modCount;
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.barcellos.collections;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+
+/**
+ * {@link NavigableSet} sobre um {@link BTreeMap}, alternativa a
+ * {@link java.util.TreeSet}: os elementos ficam nas folhas da B+tree e as
+ * varreduras de {@code subSet}/{@code headSet}/{@code tailSet} percorrem
+ * arrays em sequência.
+ *
+ * Também é a visão de chaves devolvida por {@link BTreeMap#navigableKeySet()};
+ * nesse caso {@code add} não é suportado, como no {@code keySet} da
+ * {@code TreeMap}.
+ */
+public class BTreeSet<E> extends AbstractSet<E> implements NavigableSet<E> {
+
+    private static final Object PRESENT = Boolean.TRUE;
+
+    private final BTreeMap.View<E, ?> m;
+    private final boolean addable;
+
+    BTreeSet(BTreeMap.View<E, ?> m, boolean addable) {
+        this.m = m;
+        this.addable = addable;
+    }
+
+    public BTreeSet() {
+        this(new BTreeMap<E, Object>().view(), true);
+    }
+
+    public BTreeSet(Comparator<? super E> comparator) {
+        this(new BTreeMap<E, Object>(comparator).view(), true);
+    }
+
+    public BTreeSet(Collection<? extends E> elements) {
+        this();
+        addAll(elements);
+    }
+
+    /**
+     * Cópia de um conjunto já ordenado, com o mesmo comparador, montada em
+     * O(n).
+     */
+    public BTreeSet(SortedSet<E> sorted) {
+        this(new BTreeMap<E, Object>(sorted.comparator()).view(), true);
+        m.m.buildFromSorted(sorted.iterator(), PRESENT, false);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean add(E element) {
+        if (!addable) {
+            throw new UnsupportedOperationException();
+        }
+        return ((BTreeMap.View<E, Object>) m).put(element, PRESENT) == null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!m.containsKey(o)) {
+            return false;
+        }
+        m.remove(o);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return m.containsKey(o);
+    }
+
+    @Override
+    public int size() {
+        return m.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return m.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        m.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return m.keyIterator();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return m.comparator();
+    }
+
+    @Override
+    public E lower(E e) {
+        return m.lowerKey(e);
+    }
+
+    @Override
+    public E floor(E e) {
+        return m.floorKey(e);
+    }
+
+    @Override
+    public E ceiling(E e) {
+        return m.ceilingKey(e);
+    }
+
+    @Override
+    public E higher(E e) {
+        return m.higherKey(e);
+    }
+
+    @Override
+    public E first() {
+        return m.firstKey();
+    }
+
+    @Override
+    public E last() {
+        return m.lastKey();
+    }
+
+    @Override
+    public E pollFirst() {
+        Map.Entry<E, ?> entry = m.pollFirstEntry();
+        return entry == null ? null : entry.getKey();
+    }
+
+    @Override
+    public E pollLast() {
+        Map.Entry<E, ?> entry = m.pollLastEntry();
+        return entry == null ? null : entry.getKey();
+    }
+
+    @Override
+    public NavigableSet<E> descendingSet() {
+        return wrap(m.descendingMap());
+    }
+
+    @Override
+    public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+        return wrap(m.subMap(fromElement, fromInclusive, toElement, toInclusive));
+    }
+
+    @Override
+    public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+        return wrap(m.headMap(toElement, inclusive));
+    }
+
+    @Override
+    public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        return wrap(m.tailMap(fromElement, inclusive));
+    }
+
+    @Override
+    public SortedSet<E> subSet(E fromElement, E toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> headSet(E toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    private NavigableSet<E> wrap(Map<E, ?> view) {
+        return new BTreeSet<>((BTreeMap.View<E, ?>) view, addable);
+    }
+}
@@ -0,0 +1,574 @@
+package com.barcellos.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapa com ordem de inserção no formato do dict compacto do CPython,
+ * alternativa a {@link java.util.LinkedHashMap}.
+ *
+ * A {@code LinkedHashMap} aloca um nó por entrada com hash, chave, valor,
+ * próximo do bucket e dois ponteiros da lista duplamente ligada (cerca de 40
+ * bytes), além da tabela. Aqui as entradas ficam em arrays densos
+ * ({@code hashes}, {@code keys}, {@code values}) na ordem em que foram
+ * inseridas, e um índice separado de {@code int}s, com endereçamento aberto
+ * e sondagem linear, guarda só a posição de cada entrada. Não há nós: a
+ * iteração é uma varredura sequencial dos arrays e o custo fixo fica perto
+ * de metade do da {@code LinkedHashMap}.
+ *
+ * Uma remoção só marca a posição nos arrays e deixa uma lápide no índice;
+ * as lacunas são compactadas de uma vez quando os arrays enchem ou quando
+ * menos de um quarto das posições continua ocupado.
+ *
+ * Como {@code LinkedHashMap} (em ordem de inserção): aceita chave e valor
+ * nulos, reinserir uma chave não muda a sua posição, não é thread-safe e os
+ * iteradores são fail-fast.
+ */
+public class CompactLinkedHashMap<K, V> extends AbstractMap<K, V> {
+
+    static final Object PRESENT = Boolean.TRUE;
+
+    private static final int MIN_INDEX_LENGTH = 8;
+    private static final int MAX_INDEX_LENGTH = 1 << 30;
+    private static final int SHRINK_THRESHOLD = 64;
+
+    private static final int FREE = 0;
+    private static final int DELETED = -1;
+
+    private static final Object NULL_KEY = new Object();
+    private static final Object REMOVED = new Object();
+
+    /**
+     * Sem array de valores: usado pelo {@link CompactLinkedHashSet}.
+     */
+    private final boolean keysOnly;
+
+    /**
+     * {@link #FREE}, {@link #DELETED} ou a posição da entrada mais 1.
+     */
+    private int[] index;
+    private int shift;
+    private int[] hashes;
+    private Object[] keys;
+    private Object[] values;
+    private int used;
+    private int size;
+    private int modCount;
+
+    public CompactLinkedHashMap() {
+        this(0, false);
+    }
+
+    public CompactLinkedHashMap(int expectedSize) {
+        this(expectedSize, false);
+    }
+
+    public CompactLinkedHashMap(Map<? extends K, ? extends V> map) {
+        this(map.size(), false);
+        putAll(map);
+    }
+
+    CompactLinkedHashMap(int expectedSize, boolean keysOnly) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize: " + expectedSize);
+        }
+        this.keysOnly = keysOnly;
+        allocate(indexLengthFor(expectedSize));
+    }
+
+    // Operações do mapa
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findSlot(key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : value(index[slot] - 1);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int slot = findSlot(key);
+        return slot < 0 ? defaultValue : value(index[slot] - 1);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Object k = maskNull(key);
+        int hash = hash(key);
+        int slot = findOrInsertSlot(k, hash);
+        if (slot >= 0) {
+            int entry = index[slot] - 1;
+            V old = value(entry);
+            if (!keysOnly) {
+                values[entry] = value;
+            }
+            return old;
+        }
+
+        slot = ~slot;
+        if (used == keys.length) {
+            rebuild(indexLengthFor(Math.max(size * 2, size + 1)));
+            slot = freeSlot(hash);
+        }
+        int entry = used++;
+        index[slot] = entry + 1;
+        hashes[entry] = hash;
+        keys[entry] = k;
+        if (!keysOnly) {
+            values[entry] = value;
+        }
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V old = removeSlot(slot);
+        if (size < used / 4 && keys.length > SHRINK_THRESHOLD) {
+            rebuild(indexLengthFor(size * 2));
+        }
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(index, FREE);
+        Arrays.fill(keys, 0, used, null);
+        if (!keysOnly) {
+            Arrays.fill(values, 0, used, null);
+        }
+        used = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int e = 0; e < used; e++) {
+            if (keys[e] != REMOVED && Objects.equals(value, value(e))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expectedModCount = modCount;
+        for (int e = 0; e < used; e++) {
+            Object k = keys[e];
+            if (k != REMOVED) {
+                action.accept(unmaskNull(k), value(e));
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new DenseIterator<Map.Entry<K, V>>() {
+                    @Override
+                    Map.Entry<K, V> element(int entry) {
+                        return new Entry(entry);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                int slot = findSlot(entry.getKey());
+                return slot >= 0 && Objects.equals(value(index[slot] - 1), entry.getValue());
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!contains(o)) {
+                    return false;
+                }
+                CompactLinkedHashMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+                return true;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                CompactLinkedHashMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return keyIterator();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                int before = size;
+                CompactLinkedHashMap.this.remove(o);
+                return size != before;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                CompactLinkedHashMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new DenseIterator<V>() {
+                    @Override
+                    V element(int entry) {
+                        return value(entry);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                CompactLinkedHashMap.this.clear();
+            }
+        };
+    }
+
+    Iterator<K> keyIterator() {
+        return new DenseIterator<K>() {
+            @Override
+            K element(int entry) {
+                return unmaskNull(keys[entry]);
+            }
+        };
+    }
+
+    // Índice e arrays densos
+
+    private static int indexLengthFor(int entries) {
+        // Os arrays densos têm 2/3 do tamanho do índice.
+        long needed = (long) entries * 3 / 2 + 1;
+        if (needed > MAX_INDEX_LENGTH) {
+            throw new IllegalStateException("Map too big");
+        }
+        int length = MIN_INDEX_LENGTH;
+        while (length < needed) {
+            length <<= 1;
+        }
+        return length;
+    }
+
+    private void allocate(int indexLength) {
+        int capacity = (int) ((long) indexLength * 2 / 3);
+        index = new int[indexLength];
+        shift = 32 - Integer.numberOfTrailingZeros(indexLength);
+        hashes = new int[capacity];
+        keys = new Object[capacity];
+        values = keysOnly ? null : new Object[capacity];
+    }
+
+    /**
+     * Copia as entradas vivas, em ordem e sem lacunas, para arrays novos e
+     * refaz o índice sem lápides.
+     */
+    private void rebuild(int indexLength) {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int oldUsed = used;
+
+        allocate(indexLength);
+        int next = 0;
+        for (int e = 0; e < oldUsed; e++) {
+            Object k = oldKeys[e];
+            if (k == REMOVED) {
+                continue;
+            }
+            hashes[next] = oldHashes[e];
+            keys[next] = k;
+            if (!keysOnly) {
+                values[next] = oldValues[e];
+            }
+            index[freeSlot(oldHashes[e])] = next + 1;
+            next++;
+        }
+        used = next;
+        modCount++;
+    }
+
+    private static int hash(Object key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    /**
+     * Posição inicial no índice: multiplicação de Fibonacci, para espalhar
+     * também hashes sequenciais ou com os bits baixos repetidos.
+     */
+    private int home(int hash) {
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+
+    private int findSlot(Object key) {
+        return findSlot(maskNull(key), hash(key));
+    }
+
+    /**
+     * @return a posição no índice que aponta para {@code k}, ou -1
+     */
+    private int findSlot(Object k, int hash) {
+        int mask = index.length - 1;
+        for (int i = home(hash);; i = (i + 1) & mask) {
+            int slot = index[i];
+            if (slot == FREE) {
+                return -1;
+            }
+            if (slot != DELETED) {
+                int e = slot - 1;
+                if (hashes[e] == hash) {
+                    Object stored = keys[e];
+                    if (stored == k || k.equals(stored)) {
+                        return i;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Como {@link #findSlot(Object, int)}, mas, se a chave não existe,
+     * devolve {@code ~posição} onde inseri-la: a primeira lápide do caminho
+     * ou a posição livre que o encerra. Reaproveitar a lápide impede que
+     * remover e reinserir a mesma chave alongue a sequência de sondagem até
+     * a próxima reconstrução. Cada posição não livre do índice continua
+     * correspondendo a uma posição usada dos arrays, então o índice nunca
+     * enche.
+     */
+    private int findOrInsertSlot(Object k, int hash) {
+        int mask = index.length - 1;
+        int tombstone = -1;
+        for (int i = home(hash);; i = (i + 1) & mask) {
+            int slot = index[i];
+            if (slot == FREE) {
+                return ~(tombstone < 0 ? i : tombstone);
+            }
+            if (slot == DELETED) {
+                if (tombstone < 0) {
+                    tombstone = i;
+                }
+            } else {
+                int e = slot - 1;
+                if (hashes[e] == hash) {
+                    Object stored = keys[e];
+                    if (stored == k || k.equals(stored)) {
+                        return i;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Primeira posição livre a partir de {@code home(hash)}, para índices
+     * recém-criados, sem lápides.
+     */
+    private int freeSlot(int hash) {
+        int mask = index.length - 1;
+        int i = home(hash);
+        while (index[i] != FREE) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private V removeSlot(int slot) {
+        int entry = index[slot] - 1;
+        V old = value(entry);
+        index[slot] = DELETED;
+        keys[entry] = REMOVED;
+        if (!keysOnly) {
+            values[entry] = null;
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int entry) {
+        return keysOnly ? (V) PRESENT : (V) values[entry];
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K unmaskNull(Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    /**
+     * Entrada ligada à posição nos arrays; {@code setValue} escreve no mapa.
+     */
+    private final class Entry implements Map.Entry<K, V> {
+
+        private final int entry;
+        private final K key;
+
+        Entry(int entry) {
+            this.entry = entry;
+            this.key = unmaskNull(keys[entry]);
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value(entry);
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (keysOnly) {
+                throw new UnsupportedOperationException();
+            }
+            if (entry >= used || keys[entry] != maskNull(key)) {
+                throw new ConcurrentModificationException();
+            }
+            V old = value(entry);
+            values[entry] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    /**
+     * Varre os arrays densos em ordem, pulando as posições removidas.
+     * {@code remove} não dispara compactação, então as posições seguintes
+     * continuam válidas.
+     */
+    private abstract class DenseIterator<T> implements Iterator<T> {
+
+        private int next = advance(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        abstract T element(int entry);
+
+        private int advance(int from) {
+            while (from < used && keys[from] == REMOVED) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= used) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return element(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeSlot(findSlot(keys[last], hashes[last]));
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
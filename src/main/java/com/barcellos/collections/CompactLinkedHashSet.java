@@ -0,0 +1,61 @@
+package com.barcellos.collections;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Conjunto com ordem de inserção sobre um {@link CompactLinkedHashMap} sem
+ * array de valores, alternativa a {@link java.util.LinkedHashSet}: cada
+ * elemento custa uma posição no índice, um hash e uma referência, sem nó
+ * por entrada.
+ *
+ * Aceita {@code null}, não é thread-safe e os iteradores são fail-fast.
+ */
+public class CompactLinkedHashSet<E> extends AbstractSet<E> {
+
+    private final CompactLinkedHashMap<E, Object> map;
+
+    public CompactLinkedHashSet() {
+        this(0);
+    }
+
+    public CompactLinkedHashSet(int expectedSize) {
+        this.map = new CompactLinkedHashMap<>(expectedSize, true);
+    }
+
+    public CompactLinkedHashSet(Collection<? extends E> elements) {
+        this(elements.size());
+        addAll(elements);
+    }
+
+    @Override
+    public boolean add(E element) {
+        return map.put(element, CompactLinkedHashMap.PRESENT) == null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return map.remove(o) != null;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keyIterator();
+    }
+}
@@ -0,0 +1,66 @@
+package com.barcellos.collections;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Conjunto imutável e persistente sobre um {@link PersistentHashMap}; cada
+ * elemento é a chave de uma entrada.
+ *
+ * {@link #plus} e {@link #minus} devolvem um novo conjunto e compartilham com
+ * este tudo o que não mudou. Os métodos de alteração de {@code java.util.Set}
+ * lançam {@link UnsupportedOperationException}. Elementos nulos não são
+ * aceitos.
+ */
+public final class PersistentHashSet<E> extends AbstractSet<E> {
+
+    private static final PersistentHashSet<?> EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+    private final PersistentHashMap<E, Boolean> map;
+
+    private PersistentHashSet(PersistentHashMap<E, Boolean> map) {
+        this.map = map;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentHashSet<E> empty() {
+        return (PersistentHashSet<E>) EMPTY;
+    }
+
+    public static <E> PersistentHashSet<E> copyOf(Collection<? extends E> elements) {
+        PersistentHashSet<E> result = empty();
+        for (E element : elements) {
+            result = result.plus(element);
+        }
+        return result;
+    }
+
+    public PersistentHashSet<E> plus(E element) {
+        PersistentHashMap<E, Boolean> updated = map.plus(element, Boolean.TRUE);
+        return updated == map ? this : new PersistentHashSet<>(updated);
+    }
+
+    public PersistentHashSet<E> minus(Object element) {
+        PersistentHashMap<E, Boolean> updated = map.minus(element);
+        if (updated == map) {
+            return this;
+        }
+        return updated.isEmpty() ? empty() : new PersistentHashSet<>(updated);
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return map.containsKey(element);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+}
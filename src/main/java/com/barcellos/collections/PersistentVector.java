@@ -0,0 +1,214 @@
+package com.barcellos.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Lista imutável e persistente em uma trie de radix 32 (vetor balanceado por
+ * radix), no estilo do {@code PersistentVector} do Clojure.
+ *
+ * Os elementos ficam em folhas de 32 posições e o índice é decomposto em
+ * grupos de 5 bits, um por nível, então {@link #get}, {@link #with} e
+ * {@link #pop} custam O(log32 n) (no máximo 7 níveis para {@code int}). Os
+ * últimos até 32 elementos ficam em um array separado (a cauda), o que deixa
+ * {@link #plus} em O(1) amortizado. Cada operação copia só o caminho
+ * alterado; o resto da árvore é compartilhado com a versão anterior, que
+ * continua válida e pode ser lida por outras threads sem lock.
+ *
+ * Os métodos de alteração de {@code java.util.List} lançam
+ * {@link UnsupportedOperationException}.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        PersistentVector<E> result = empty();
+        for (E element : elements) {
+            result = result.plus(element);
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Versão com {@code element} acrescentado no final.
+     */
+    public PersistentVector<E> plus(E element) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // A árvore está cheia: cresce um nível.
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] { element });
+    }
+
+    /**
+     * Versão com {@code element} na posição {@code index}; {@code index}
+     * igual a {@link #size()} acrescenta no final.
+     */
+    public PersistentVector<E> with(int index, E element) {
+        if (index == size) {
+            return plus(element);
+        }
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    /**
+     * Versão sem o último elemento.
+     *
+     * @throws IllegalStateException se o vetor estiver vazio
+     */
+    public PersistentVector<E> pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Vector is empty");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset() > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+
+        Object[] newTail = leafFor(size - 2);
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] leaf) {
+        int i = ((size - 1) >>> level) & MASK;
+        Object[] node = parent.clone();
+        if (level == BITS) {
+            node[i] = leaf;
+        } else {
+            Object[] child = (Object[]) parent[i];
+            node[i] = child == null ? newPath(level - BITS, leaf) : pushTail(level - BITS, child, leaf);
+        }
+        return node;
+    }
+
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object element) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = element;
+        } else {
+            int i = (index >>> level) & MASK;
+            copy[i] = assoc(level - BITS, (Object[]) node[i], index, element);
+        }
+        return copy;
+    }
+
+    /**
+     * Remove a folha mais à direita; devolve {@code null} se o nó ficou vazio.
+     */
+    private Object[] popTail(int level, Object[] node) {
+        int i = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] child = popTail(level - BITS, (Object[]) node[i]);
+            if (child == null && i == 0) {
+                return null;
+            }
+            Object[] copy = node.clone();
+            copy[i] = child;
+            return copy;
+        }
+        if (i == 0) {
+            return null;
+        }
+        Object[] copy = node.clone();
+        copy[i] = null;
+        return copy;
+    }
+}
@@ -0,0 +1,30 @@
+package com.barcellos.collections.concurrent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Espera exponencial com componente aleatório depois de uma disputa perdida,
+ * para que as threads não voltem a colidir no mesmo instante.
+ *
+ * Uma instância por operação; não é thread-safe.
+ */
+final class Backoff {
+
+    private static final int YIELD_ATTEMPTS = 4;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private int attempts;
+    private long limit = MIN_PARK_NANOS;
+
+    void pause() {
+        if (attempts++ < YIELD_ATTEMPTS) {
+            Thread.yield();
+            return;
+        }
+        LockSupport.parkNanos(1 + ThreadLocalRandom.current().nextLong(limit));
+        limit = Math.min(limit * 2, MAX_PARK_NANOS);
+    }
+}
@@ -0,0 +1,482 @@
+package com.barcellos.collections.concurrent;
+
+import java.util.AbstractCollection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Deque} thread-safe sobre um buffer circular, como
+ * {@link java.util.ArrayDeque}, para muitos produtores e consumidores.
+ *
+ * O buffer é protegido por um spin lock curto. Quem não consegue o lock não
+ * fica enfileirado: tenta se anular com uma operação contrária na mesma
+ * ponta ({@code addFirst} com {@code pollFirst}, {@code addLast} com
+ * {@code pollLast}) por um vetor de eliminação e, se não houver par, espera
+ * com backoff exponencial. Sob disputa, pares de operações se completam sem
+ * tocar no buffer, o que é o caso comum de uso como pilha.
+ *
+ * Elementos nulos não são aceitos. {@link #size()} e {@link #isEmpty()} não
+ * bloqueiam. Os iteradores percorrem uma cópia feita no momento da criação;
+ * {@code remove} no iterador remove a mesma instância da deque.
+ */
+public class ConcurrentArrayDeque<E> extends AbstractCollection<E> implements Deque<E> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final AtomicBoolean lock = new AtomicBoolean();
+    private final EliminationArray<E> headElimination = new EliminationArray<>();
+    private final EliminationArray<E> tailElimination = new EliminationArray<>();
+
+    private Object[] elements;
+    private int head;
+    private int tail;
+    private volatile int size;
+
+    public ConcurrentArrayDeque() {
+        this(MIN_CAPACITY);
+    }
+
+    public ConcurrentArrayDeque(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize: " + expectedSize);
+        }
+        int expected = Math.min(Math.max(expectedSize, 1), 1 << 29);
+        this.elements = new Object[Math.max(MIN_CAPACITY, Integer.highestOneBit(expected) << 1)];
+    }
+
+    // Inserção e remoção nas pontas, com eliminação
+
+    private void insert(E item, boolean first) {
+        Objects.requireNonNull(item, "item");
+        EliminationArray<E> elimination = first ? headElimination : tailElimination;
+        Backoff backoff = null;
+        while (true) {
+            if (tryLock()) {
+                try {
+                    if (first) {
+                        linkFirst(item);
+                    } else {
+                        linkLast(item);
+                    }
+                } finally {
+                    unlock();
+                }
+                return;
+            }
+            if (elimination.offer(item)) {
+                return;
+            }
+            if (backoff == null) {
+                backoff = new Backoff();
+            }
+            backoff.pause();
+        }
+    }
+
+    private E extract(boolean first) {
+        EliminationArray<E> elimination = first ? headElimination : tailElimination;
+        Backoff backoff = null;
+        while (true) {
+            if (tryLock()) {
+                try {
+                    return first ? unlinkFirst() : unlinkLast();
+                } finally {
+                    unlock();
+                }
+            }
+            E item = elimination.poll();
+            if (item != null) {
+                return item;
+            }
+            if (backoff == null) {
+                backoff = new Backoff();
+            }
+            backoff.pause();
+        }
+    }
+
+    @Override
+    public void addFirst(E item) {
+        insert(item, true);
+    }
+
+    @Override
+    public void addLast(E item) {
+        insert(item, false);
+    }
+
+    @Override
+    public boolean offerFirst(E item) {
+        insert(item, true);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E item) {
+        insert(item, false);
+        return true;
+    }
+
+    @Override
+    public E pollFirst() {
+        return extract(true);
+    }
+
+    @Override
+    public E pollLast() {
+        return extract(false);
+    }
+
+    @Override
+    public E removeFirst() {
+        return nonNull(pollFirst());
+    }
+
+    @Override
+    public E removeLast() {
+        return nonNull(pollLast());
+    }
+
+    @Override
+    public E peekFirst() {
+        lock();
+        try {
+            return elementAt(head);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public E peekLast() {
+        lock();
+        try {
+            return elementAt((tail - 1) & (elements.length - 1));
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public E getFirst() {
+        return nonNull(peekFirst());
+    }
+
+    @Override
+    public E getLast() {
+        return nonNull(peekLast());
+    }
+
+    // Métodos de Queue e de pilha
+
+    @Override
+    public boolean add(E item) {
+        addLast(item);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E item) {
+        return offerLast(item);
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E item) {
+        addFirst(item);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    // Operações sobre o conteúdo
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock();
+        try {
+            int mask = elements.length - 1;
+            for (int i = head; i != tail; i = (i + 1) & mask) {
+                if (o.equals(elements[i])) {
+                    delete(i);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock();
+        try {
+            int mask = elements.length - 1;
+            for (int i = (tail - 1) & mask; i != ((head - 1) & mask); i = (i - 1) & mask) {
+                if (o.equals(elements[i])) {
+                    delete(i);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        lock();
+        try {
+            int mask = elements.length - 1;
+            for (int i = head; i != tail; i = (i + 1) & mask) {
+                if (o.equals(elements[i])) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        lock();
+        try {
+            elements = new Object[MIN_CAPACITY];
+            head = 0;
+            tail = 0;
+            size = 0;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        lock();
+        try {
+            Object[] copy = new Object[size];
+            int mask = elements.length - 1;
+            for (int i = head, j = 0; i != tail; i = (i + 1) & mask) {
+                copy[j++] = elements[i];
+            }
+            return copy;
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator(toArray(), false);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new SnapshotIterator(toArray(), true);
+    }
+
+    // Buffer circular; chamados com o lock
+
+    private void linkFirst(E item) {
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = item;
+        size++;
+        if (head == tail) {
+            grow();
+        }
+    }
+
+    private void linkLast(E item) {
+        elements[tail] = item;
+        tail = (tail + 1) & (elements.length - 1);
+        size++;
+        if (head == tail) {
+            grow();
+        }
+    }
+
+    private E unlinkFirst() {
+        E item = elementAt(head);
+        if (item != null) {
+            elements[head] = null;
+            head = (head + 1) & (elements.length - 1);
+            size--;
+        }
+        return item;
+    }
+
+    private E unlinkLast() {
+        int last = (tail - 1) & (elements.length - 1);
+        E item = elementAt(last);
+        if (item != null) {
+            elements[last] = null;
+            tail = last;
+            size--;
+        }
+        return item;
+    }
+
+    /**
+     * Remove a posição {@code index}, deslocando os elementos seguintes uma
+     * posição em direção à cabeça.
+     */
+    private void delete(int index) {
+        int mask = elements.length - 1;
+        int last = (tail - 1) & mask;
+        for (int i = index; i != last; i = (i + 1) & mask) {
+            elements[i] = elements[(i + 1) & mask];
+        }
+        elements[last] = null;
+        tail = last;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = elements.length;
+        if (capacity == 1 << 30) {
+            throw new IllegalStateException("Deque too big");
+        }
+        Object[] grown = new Object[capacity << 1];
+        int right = capacity - head;
+        System.arraycopy(elements, head, grown, 0, right);
+        System.arraycopy(elements, 0, grown, right, head);
+        elements = grown;
+        head = 0;
+        tail = capacity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) elements[index];
+    }
+
+    private static <E> E nonNull(E item) {
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        return item;
+    }
+
+    // Spin lock
+
+    private boolean tryLock() {
+        return !lock.get() && lock.compareAndSet(false, true);
+    }
+
+    private void lock() {
+        Backoff backoff = null;
+        while (!tryLock()) {
+            if (backoff == null) {
+                backoff = new Backoff();
+            }
+            backoff.pause();
+        }
+    }
+
+    private void unlock() {
+        lock.set(false);
+    }
+
+    private final class SnapshotIterator implements Iterator<E> {
+
+        private final Object[] snapshot;
+        private final boolean descending;
+        private int cursor;
+        private Object lastReturned;
+
+        SnapshotIterator(Object[] snapshot, boolean descending) {
+            this.snapshot = snapshot;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (cursor >= snapshot.length) {
+                throw new NoSuchElementException();
+            }
+            int index = descending ? snapshot.length - 1 - cursor : cursor;
+            cursor++;
+            lastReturned = snapshot[index];
+            return (E) lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            Object target = lastReturned;
+            lastReturned = null;
+            lock();
+            try {
+                int mask = elements.length - 1;
+                for (int i = head; i != tail; i = (i + 1) & mask) {
+                    if (elements[i] == target) {
+                        delete(i);
+                        return;
+                    }
+                }
+            } finally {
+                unlock();
+            }
+        }
+    }
+}
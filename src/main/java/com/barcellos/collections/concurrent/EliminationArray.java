@@ -0,0 +1,72 @@
+package com.barcellos.collections.concurrent;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Vetor de eliminação (Hendler, Shavit e Yerushalmi): uma inserção e uma
+ * remoção concorrentes na mesma ponta se anulam, trocando o elemento aqui em
+ * vez de disputar o topo da estrutura.
+ *
+ * Quem insere deixa o elemento em uma posição aleatória e espera um pouco;
+ * quem remove pega o que encontrar em uma posição aleatória. A troca equivale
+ * a inserir e remover imediatamente em seguida, por isso não altera o
+ * conteúdo da estrutura.
+ */
+final class EliminationArray<E> {
+
+    private static final int MAX_SLOTS = 64;
+    private static final int WAIT_SPINS = 32;
+
+    /**
+     * Embrulha o elemento para que a identidade seja única mesmo com
+     * elementos repetidos.
+     */
+    private static final class Offer<E> {
+        final E item;
+
+        Offer(E item) {
+            this.item = item;
+        }
+    }
+
+    private final AtomicReferenceArray<Offer<E>> slots;
+
+    EliminationArray() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        this.slots = new AtomicReferenceArray<>(Math.max(2, Math.min(processors, MAX_SLOTS)));
+    }
+
+    /**
+     * Oferece {@code item} a uma remoção concorrente.
+     *
+     * @return {@code true} se algum consumidor levou o elemento
+     */
+    boolean offer(E item) {
+        int index = ThreadLocalRandom.current().nextInt(slots.length());
+        Offer<E> offer = new Offer<>(item);
+        if (!slots.compareAndSet(index, null, offer)) {
+            return false;
+        }
+        for (int i = 0; i < WAIT_SPINS; i++) {
+            if (slots.get(index) != offer) {
+                return true;
+            }
+            Thread.yield();
+        }
+        // Se a retirada falhar, um consumidor levou o elemento no último instante.
+        return !slots.compareAndSet(index, offer, null);
+    }
+
+    /**
+     * Elemento de uma inserção concorrente, ou {@code null}.
+     */
+    E poll() {
+        int index = ThreadLocalRandom.current().nextInt(slots.length());
+        Offer<E> offer = slots.get(index);
+        if (offer != null && slots.compareAndSet(index, offer, null)) {
+            return offer.item;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,356 @@
+package com.barcellos.collections.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.barcellos.collections.DaryHeapPriorityQueue;
+
+/**
+ * Fila de prioridade concorrente e relaxada (MultiQueue, Rihani, Sanders e
+ * Dementiev), para muitos produtores e consumidores.
+ *
+ * Os elementos ficam espalhados em vários {@link DaryHeapPriorityQueue},
+ * cada um com o seu lock. {@code offer} escolhe um heap ao acaso;
+ * {@code poll} sorteia dois, compara os mínimos publicados de cada um e
+ * remove do que tiver o menor. Se o lock estiver ocupado, a thread tenta
+ * outro heap em vez de esperar, por isso não existe um ponto único de
+ * disputa como em {@link java.util.concurrent.PriorityBlockingQueue}.
+ *
+ * O preço é a ordem: {@code poll} devolve com alta probabilidade um dos
+ * menores elementos, mas não necessariamente o menor. O erro de posição
+ * esperado é proporcional ao número de heaps. Com um único heap a ordem é
+ * exata. Serve para escalonadores e algoritmos que toleram prioridade
+ * aproximada.
+ *
+ * Não aceita nulos. {@code poll} devolve {@code null} quando todos os heaps
+ * parecem vazios. {@link #size()} e {@link #peek()} leem só valores
+ * publicados e não bloqueiam. O iterador percorre uma cópia, e o seu
+ * {@code remove} remove um elemento igual da fila.
+ */
+public class RelaxedPriorityQueue<E> extends AbstractQueue<E> {
+
+    private final Comparator<? super E> comparator;
+    private final Shard<E>[] shards;
+
+    public RelaxedPriorityQueue() {
+        this(2 * Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * @param shards     número de heaps; mais heaps diminuem a disputa e
+     *                   aumentam o relaxamento da ordem
+     * @param comparator {@code null} para a ordem natural
+     */
+    @SuppressWarnings("unchecked")
+    public RelaxedPriorityQueue(int shards, Comparator<? super E> comparator) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("shards: " + shards);
+        }
+        this.comparator = comparator;
+        this.shards = (Shard<E>[]) new Shard<?>[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard<>(comparator);
+        }
+    }
+
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Shard<E> shard = null;
+        for (int attempt = 0; attempt < shards.length; attempt++) {
+            shard = shards[random.nextInt(shards.length)];
+            if (shard.lock.tryLock()) {
+                shard.offerLocked(element);
+                return true;
+            }
+        }
+        shard.lock.lock();
+        shard.offerLocked(element);
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Backoff backoff = null;
+        int failures = 0;
+        while (true) {
+            Shard<E> shard = lesser(shards[random.nextInt(shards.length)], shards[random.nextInt(shards.length)]);
+            if (shard.top == null) {
+                shard = anyNonEmpty(random.nextInt(shards.length));
+                if (shard == null) {
+                    return null;
+                }
+            }
+            if (shard.lock.tryLock()) {
+                E element = shard.pollLocked();
+                if (element != null) {
+                    return element;
+                }
+            } else if (++failures % shards.length == 0) {
+                if (backoff == null) {
+                    backoff = new Backoff();
+                }
+                backoff.pause();
+            }
+        }
+    }
+
+    /**
+     * Menor dos mínimos publicados; aproximado sob concorrência.
+     */
+    @Override
+    public E peek() {
+        E best = null;
+        for (Shard<E> shard : shards) {
+            E top = shard.top;
+            if (top != null && (best == null || compare(top, best) < 0)) {
+                best = top;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Divide os elementos em blocos contíguos, um por heap, e cada heap
+     * recebe o seu bloco de uma vez (reconstrução em O(n)).
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> elements) {
+        if (elements == this) {
+            throw new IllegalArgumentException("Cannot add a queue to itself");
+        }
+        Object[] added = elements.toArray();
+        for (Object element : added) {
+            Objects.requireNonNull(element, "element");
+        }
+        if (added.length == 0) {
+            return false;
+        }
+
+        int first = ThreadLocalRandom.current().nextInt(shards.length);
+        int parts = Math.min(shards.length, added.length);
+        for (int part = 0; part < parts; part++) {
+            int from = (int) ((long) added.length * part / parts);
+            int to = (int) ((long) added.length * (part + 1) / parts);
+            @SuppressWarnings("unchecked")
+            List<E> slice = (List<E>) Arrays.asList(added).subList(from, to);
+            Shard<E> shard = shards[(first + part) % shards.length];
+            shard.lock.lock();
+            try {
+                shard.heap.addAll(slice);
+                shard.publish();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Shard<E> shard : shards) {
+            shard.lock.lock();
+            try {
+                if (shard.heap.remove(o)) {
+                    shard.publish();
+                    return true;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (Shard<E> shard : shards) {
+            shard.lock.lock();
+            try {
+                if (shard.heap.contains(o)) {
+                    return true;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        long size = 0;
+        for (Shard<E> shard : shards) {
+            size += shard.size;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Shard<E> shard : shards) {
+            if (shard.size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Shard<E> shard : shards) {
+            shard.lock.lock();
+            try {
+                shard.heap.clear();
+                shard.publish();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        List<Object> copy = new ArrayList<>();
+        for (Shard<E> shard : shards) {
+            shard.lock.lock();
+            try {
+                copy.addAll(Arrays.asList(shard.heap.toArray()));
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return copy.toArray();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Object[] snapshot = toArray();
+        return new Iterator<E>() {
+
+            private int next;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next < snapshot.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (next >= snapshot.length) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                return (E) snapshot[next++];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                RelaxedPriorityQueue.this.remove(snapshot[last]);
+                last = -1;
+            }
+        };
+    }
+
+    private Shard<E> lesser(Shard<E> a, Shard<E> b) {
+        E topA = a.top;
+        E topB = b.top;
+        if (topA == null) {
+            return b;
+        }
+        if (topB == null) {
+            return a;
+        }
+        return compare(topA, topB) <= 0 ? a : b;
+    }
+
+    private Shard<E> anyNonEmpty(int start) {
+        for (int i = 0; i < shards.length; i++) {
+            Shard<E> shard = shards[(start + i) % shards.length];
+            if (shard.top != null) {
+                return shard;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        if (comparator != null) {
+            return comparator.compare(a, b);
+        }
+        return ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    /**
+     * Um heap com o seu lock. {@code top} e {@code size} são republicados a
+     * cada alteração para que as outras threads escolham o heap sem lock.
+     */
+    private static final class Shard<E> {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final DaryHeapPriorityQueue<E> heap;
+        volatile E top;
+        volatile int size;
+
+        Shard(Comparator<? super E> comparator) {
+            this.heap = new DaryHeapPriorityQueue<>(DaryHeapPriorityQueue.DEFAULT_ARITY, 16, comparator);
+        }
+
+        /**
+         * Chamado com o lock; libera o lock.
+         */
+        void offerLocked(E element) {
+            try {
+                heap.offer(element);
+                publish();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Chamado com o lock; libera o lock.
+         */
+        E pollLocked() {
+            try {
+                E element = heap.poll();
+                publish();
+                return element;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void publish() {
+            top = heap.peek();
+            size = heap.size();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.barcellos.collections.concurrent;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pilha sem lock (Treiber): o topo é uma {@link AtomicReference} atualizada
+ * por compare-and-set, alternativa a {@link java.util.Stack}, cujos métodos
+ * disputam um único monitor.
+ *
+ * Quando o compare-and-set falha por disputa, a operação tenta primeiro se
+ * anular com uma operação contrária em um vetor de eliminação (um
+ * {@code push} entrega o elemento direto a um {@code pop}) e só depois espera
+ * com backoff exponencial antes de tentar de novo.
+ *
+ * Como em {@link java.util.concurrent.ConcurrentLinkedDeque}, elementos nulos
+ * não são aceitos, {@link #size()} percorre a pilha e o iterador é fracamente
+ * consistente, do topo para a base, sem {@code remove}.
+ */
+public class TreiberStack<E> extends AbstractCollection<E> {
+
+    private static final class Node<E> {
+        final E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    private final AtomicReference<Node<E>> top = new AtomicReference<>();
+    private final EliminationArray<E> elimination = new EliminationArray<>();
+
+    public void push(E item) {
+        Node<E> node = new Node<>(Objects.requireNonNull(item, "item"));
+        Backoff backoff = null;
+        while (true) {
+            Node<E> current = top.get();
+            node.next = current;
+            if (top.compareAndSet(current, node)) {
+                return;
+            }
+            if (elimination.offer(item)) {
+                return;
+            }
+            if (backoff == null) {
+                backoff = new Backoff();
+            }
+            backoff.pause();
+        }
+    }
+
+    /**
+     * Remove e devolve o topo, ou {@code null} se a pilha estiver vazia.
+     */
+    public E poll() {
+        Backoff backoff = null;
+        while (true) {
+            Node<E> current = top.get();
+            if (current == null) {
+                return null;
+            }
+            if (top.compareAndSet(current, current.next)) {
+                return current.item;
+            }
+            E item = elimination.poll();
+            if (item != null) {
+                return item;
+            }
+            if (backoff == null) {
+                backoff = new Backoff();
+            }
+            backoff.pause();
+        }
+    }
+
+    /**
+     * @throws NoSuchElementException se a pilha estiver vazia
+     */
+    public E pop() {
+        E item = poll();
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        return item;
+    }
+
+    /**
+     * Topo da pilha sem removê-lo, ou {@code null} se estiver vazia.
+     */
+    public E peek() {
+        Node<E> current = top.get();
+        return current == null ? null : current.item;
+    }
+
+    @Override
+    public boolean add(E item) {
+        push(item);
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Node<E> node = top.get(); node != null && size < Integer.MAX_VALUE; node = node.next) {
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        top.set(null);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node<E> next = top.get();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                E item = next.item;
+                next = next.next;
+                return item;
+            }
+        };
+    }
+}
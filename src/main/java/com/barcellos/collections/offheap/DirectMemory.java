@@ -0,0 +1,65 @@
+package com.barcellos.collections.offheap;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Libera a memória de um {@link ByteBuffer} direto sem esperar o GC.
+ *
+ * Não há API pública para isso no Java 8; usa {@code Unsafe.invokeCleaner}
+ * (Java 9+) ou o {@code Cleaner} do próprio buffer (Java 8) por reflexão. Se
+ * nenhum dos dois estiver disponível, a memória volta quando o buffer for
+ * coletado. O buffer não pode mais ser usado depois disso.
+ */
+final class DirectMemory {
+
+    private static final Releaser RELEASER = releaser();
+
+    private interface Releaser {
+        void release(ByteBuffer buffer) throws Exception;
+    }
+
+    private DirectMemory() {
+    }
+
+    static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    static void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || RELEASER == null) {
+            return;
+        }
+        try {
+            RELEASER.release(buffer);
+        } catch (Exception e) {
+            // Fica para o GC.
+        }
+    }
+
+    private static Releaser releaser() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return buffer -> invokeCleaner.invoke(unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object value = cleaner.invoke(buffer);
+                if (value != null) {
+                    clean.invoke(value);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.barcellos.collections.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapa de {@code String} para valores serializados, com chaves e valores
+ * guardados em {@link ByteBuffer}s diretos, fora do heap.
+ *
+ * Um {@code HashMap} com centenas de milhões de entradas mantém um nó, uma
+ * chave e um valor por entrada no heap, o que pesa nas pausas do GC. Aqui
+ * chaves e valores ficam fora do heap e cada segmento do mapa tem só dois
+ * objetos, nenhum com referências para o GC percorrer:
+ *
+ * <pre>
+ * índice : long[] com endereçamento aberto (sondagem linear), uma posição por
+ *          entrada: hash da chave (32 bits altos) | deslocamento + 1 (32 bits baixos)
+ * dados  : ByteBuffer direto com as entradas gravadas em sequência:
+ *          tamanho da chave (int) | tamanho do valor (int) | chave UTF-8 | valor
+ * </pre>
+ *
+ * Atualizações e remoções deixam a entrada antiga como lixo na área de dados,
+ * recuperado quando ela precisa crescer: a nova área recebe apenas as entradas
+ * vivas. Cada segmento tem um {@link StampedLock}: leituras acontecem em
+ * paralelo, e escritas em segmentos diferentes também.
+ *
+ * Cada operação custa mais que no {@code HashMap}: a chave é comparada byte a
+ * byte e o valor é decodificado a cada {@link #get}. O ganho está no heap e no
+ * GC, não na latência de uma consulta isolada.
+ *
+ * O mapa deve ser fechado com {@link #close()}, que libera a memória dos
+ * buffers na hora; depois disso qualquer operação lança
+ * {@link IllegalStateException}. Chaves e valores nulos não são aceitos.
+ */
+public class OffHeapStringMap<V> implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENTS = 16;
+
+    private static final int ENTRY_HEADER = 8;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAX_SLOTS = 1 << 30;
+    private static final int MAX_DATA = Integer.MAX_VALUE - 8;
+
+    private final ValueCodec<V> codec;
+    private final Segment[] segments;
+    private final int segmentShift;
+    private volatile boolean closed;
+
+    public OffHeapStringMap(ValueCodec<V> codec) {
+        this(codec, 1024, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * @param expectedSize quantidade esperada de entradas
+     * @param segments     quantidade de segmentos, arredondada para potência
+     *                     de 2; mais segmentos permitem mais escritas
+     *                     simultâneas e mapas maiores (cada área de dados tem
+     *                     no máximo 2 GB)
+     */
+    public OffHeapStringMap(ValueCodec<V> codec, int expectedSize, int segments) {
+        this.codec = Objects.requireNonNull(codec, "codec");
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize: " + expectedSize);
+        }
+        if (segments < 1 || segments > 1 << 16) {
+            throw new IllegalArgumentException("segments: " + segments);
+        }
+        int count = segments == 1 ? 1 : Integer.highestOneBit(segments - 1) << 1;
+        this.segments = new Segment[count];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        int perSegment = expectedSize / count + 1;
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @return {@code true} se a chave não existia
+     */
+    public boolean put(String key, V value) {
+        byte[] keyBytes = keyBytes(key);
+        byte[] valueBytes = codec.encode(Objects.requireNonNull(value, "value"));
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            checkOpen();
+            return segment.put(hash, key, keyBytes, valueBytes);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    public V get(String key) {
+        Objects.requireNonNull(key, "key");
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.readLock();
+        try {
+            checkOpen();
+            int slot = segment.find(hash, key);
+            if (slot < 0) {
+                return null;
+            }
+            int entry = segment.entryAt(slot);
+            ByteBuffer data = segment.data;
+            return codec.decode(data, entry + ENTRY_HEADER + data.getInt(entry), data.getInt(entry + 4));
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean containsKey(String key) {
+        Objects.requireNonNull(key, "key");
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.readLock();
+        try {
+            checkOpen();
+            return segment.find(hash, key) >= 0;
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return {@code true} se a chave existia
+     */
+    public boolean remove(String key) {
+        Objects.requireNonNull(key, "key");
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        long stamp = segment.lock.writeLock();
+        try {
+            checkOpen();
+            return segment.remove(hash, key);
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Bytes alocados fora do heap para chaves e valores, incluindo espaço
+     * livre e lixo ainda não recuperado.
+     */
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                if (!closed) {
+                    bytes += segment.data.capacity();
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Percorre as entradas segmento a segmento; escritas no segmento sendo
+     * percorrido esperam o fim dele.
+     */
+    public void forEach(BiConsumer<String, ? super V> action) {
+        Objects.requireNonNull(action, "action");
+        for (Segment segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                checkOpen();
+                ByteBuffer data = segment.data;
+                for (int slot = 0; slot < segment.index.length; slot++) {
+                    if (segment.index[slot] != 0) {
+                        int entry = segment.entryAt(slot);
+                        int keyLength = data.getInt(entry);
+                        String key = ValueCodec.STRING.decode(data, entry + ENTRY_HEADER, keyLength);
+                        int valueLength = data.getInt(entry + 4);
+                        action.accept(key, codec.decode(data, entry + ENTRY_HEADER + keyLength, valueLength));
+                    }
+                }
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Libera a memória fora do heap. Espera as operações em andamento.
+     */
+    @Override
+    public void close() {
+        long[] stamps = new long[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            stamps[i] = segments[i].lock.writeLock();
+        }
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments) {
+                segment.release();
+            }
+        } finally {
+            for (int i = 0; i < segments.length; i++) {
+                segments[i].lock.unlockWrite(stamps[i]);
+            }
+        }
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("OffHeapStringMap is closed");
+        }
+    }
+
+    private static byte[] keyBytes(String key) {
+        return Objects.requireNonNull(key, "key").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Espalha o hash da {@code String}; os bits altos escolhem o segmento e os
+     * baixos a posição no índice.
+     */
+    private static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Segment {
+
+        final StampedLock lock = new StampedLock();
+
+        long[] index;
+        int mask;
+        int maxFill;
+
+        ByteBuffer data;
+        int used;
+        int garbage;
+
+        volatile int size;
+
+        Segment(int expectedSize) {
+            allocateIndex(tableSize(expectedSize));
+            data = DirectMemory.allocate((int) Math.min(MAX_DATA, Math.max(1024L, expectedSize * 32L)));
+        }
+
+        int find(int hash, String key) {
+            int slot = hash & mask;
+            long current;
+            while ((current = index[slot]) != 0) {
+                if ((int) (current >>> 32) == hash && keyEquals((int) current - 1, key)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -(slot + 1);
+        }
+
+        int entryAt(int slot) {
+            return (int) index[slot] - 1;
+        }
+
+        boolean put(int hash, String key, byte[] keyBytes, byte[] value) {
+            int entrySize = ENTRY_HEADER + keyBytes.length + value.length;
+            ensureData(entrySize);
+            int slot = find(hash, key);
+            if (slot >= 0) {
+                garbage += entrySize(entryAt(slot));
+            }
+
+            int entry = used;
+            data.putInt(entry, keyBytes.length);
+            data.putInt(entry + 4, value.length);
+            for (int i = 0; i < keyBytes.length; i++) {
+                data.put(entry + ENTRY_HEADER + i, keyBytes[i]);
+            }
+            for (int i = 0; i < value.length; i++) {
+                data.put(entry + ENTRY_HEADER + keyBytes.length + i, value[i]);
+            }
+            used += entrySize;
+
+            if (slot >= 0) {
+                index[slot] = slotValue(hash, entry);
+                return false;
+            }
+            slot = -slot - 1;
+            index[slot] = slotValue(hash, entry);
+            if (++size > maxFill) {
+                rehash(index.length * 2);
+            }
+            return true;
+        }
+
+        boolean remove(int hash, String key) {
+            int slot = find(hash, key);
+            if (slot < 0) {
+                return false;
+            }
+            garbage += entrySize(entryAt(slot));
+            shiftSlots(slot);
+            size--;
+            return true;
+        }
+
+        void release() {
+            DirectMemory.release(data);
+            index = null;
+            data = null;
+            size = 0;
+        }
+
+        private int entrySize(int entry) {
+            return ENTRY_HEADER + data.getInt(entry) + data.getInt(entry + 4);
+        }
+
+        /**
+         * Compara a chave gravada com {@code key} caractere a caractere, sem
+         * codificá-la; só chaves com caracteres fora do ASCII são
+         * convertidas para UTF-8.
+         */
+        private boolean keyEquals(int entry, String key) {
+            int length = data.getInt(entry);
+            int chars = key.length();
+            if (length < chars) {
+                return false;
+            }
+            int start = entry + ENTRY_HEADER;
+            for (int i = 0; i < chars; i++) {
+                char c = key.charAt(i);
+                if (c >= 0x80) {
+                    return bytesEqual(start, length, key.getBytes(StandardCharsets.UTF_8));
+                }
+                if (data.get(start + i) != c) {
+                    return false;
+                }
+            }
+            return length == chars;
+        }
+
+        private boolean bytesEqual(int start, int length, byte[] bytes) {
+            if (length != bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (data.get(start + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Garante espaço para {@code bytes} no fim da área de dados; ao
+         * realocar, copia só as entradas vivas.
+         */
+        private void ensureData(int bytes) {
+            if ((long) used + bytes <= data.capacity()) {
+                return;
+            }
+            long live = used - garbage;
+            long needed = live + bytes;
+            if (needed > MAX_DATA) {
+                throw new IllegalStateException("Segment full: use more segments");
+            }
+            int capacity = (int) Math.min(MAX_DATA, Math.max(needed * 2, 1024));
+
+            ByteBuffer compacted = DirectMemory.allocate(capacity);
+            int position = 0;
+            for (int slot = 0; slot < index.length; slot++) {
+                long current = index[slot];
+                if (current != 0) {
+                    int entry = (int) current - 1;
+                    int length = entrySize(entry);
+                    for (int i = 0; i < length; i++) {
+                        compacted.put(position + i, data.get(entry + i));
+                    }
+                    index[slot] = slotValue((int) (current >>> 32), position);
+                    position += length;
+                }
+            }
+            DirectMemory.release(data);
+            data = compacted;
+            used = position;
+            garbage = 0;
+        }
+
+        private void rehash(int newSlots) {
+            if (newSlots > MAX_SLOTS) {
+                throw new IllegalStateException("Segment full: use more segments");
+            }
+            long[] old = index;
+            allocateIndex(newSlots);
+            for (long current : old) {
+                if (current != 0) {
+                    int target = (int) (current >>> 32) & mask;
+                    while (index[target] != 0) {
+                        target = (target + 1) & mask;
+                    }
+                    index[target] = current;
+                }
+            }
+        }
+
+        /**
+         * Remoção sem marcadores: desloca as posições seguintes da mesma
+         * sequência de sondagem, como em {@code IntHashSet}.
+         */
+        private void shiftSlots(int slot) {
+            int last;
+            long current;
+            while (true) {
+                slot = ((last = slot) + 1) & mask;
+                while (true) {
+                    if ((current = index[slot]) == 0) {
+                        index[last] = 0;
+                        return;
+                    }
+                    int home = (int) (current >>> 32) & mask;
+                    if (last <= slot ? last >= home || home > slot : last >= home && home > slot) {
+                        break;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                index[last] = current;
+            }
+        }
+
+        private void allocateIndex(int newSlots) {
+            index = new long[newSlots];
+            mask = newSlots - 1;
+            maxFill = Math.min(newSlots - 1, (int) Math.ceil(newSlots * LOAD_FACTOR));
+        }
+
+        /**
+         * Posição do índice: hash nos 32 bits altos e deslocamento da entrada
+         * + 1 nos baixos (0 marca posição livre).
+         */
+        private static long slotValue(int hash, int entry) {
+            return (long) hash << 32 | (entry + 1L);
+        }
+
+        private static int tableSize(int expected) {
+            long needed = (long) Math.ceil(expected / LOAD_FACTOR);
+            if (needed > MAX_SLOTS) {
+                throw new IllegalArgumentException("expected size too large for segment: " + expected);
+            }
+            return Math.max(16, Integer.highestOneBit((int) Math.max(2, needed) - 1) << 1);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.barcellos.collections.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converte valores para bytes e de volta, para guardá-los fora do heap.
+ */
+public interface ValueCodec<V> {
+
+    ValueCodec<String> STRING = new ValueCodec<String>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer, int offset, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    ValueCodec<Long> LONG = new ValueCodec<Long>() {
+        @Override
+        public byte[] encode(Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset, int length) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    byte[] encode(V value);
+
+    /**
+     * Lê o valor com leituras absolutas, sem alterar a posição de
+     * {@code buffer}.
+     */
+    V decode(ByteBuffer buffer, int offset, int length);
+}
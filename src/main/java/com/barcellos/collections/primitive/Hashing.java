@@ -0,0 +1,51 @@
+package com.barcellos.collections.primitive;
+
+/**
+ * Funções comuns às tabelas hash com endereçamento aberto do pacote.
+ */
+final class Hashing {
+
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * Espalha os bits do hash, para que chaves sequenciais não caiam em
+     * posições vizinhas da tabela.
+     */
+    static int mix(int hash) {
+        int h = hash * GOLDEN_RATIO;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Menor potência de dois capaz de guardar {@code expected} elementos sem
+     * ultrapassar o fator de carga.
+     */
+    static int tableSize(int expected, float loadFactor) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("expected size: " + expected);
+        }
+        long needed = (long) Math.ceil(expected / loadFactor);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalStateException("Too large: " + expected);
+        }
+        int capacity = Integer.highestOneBit((int) Math.max(2, needed) - 1) << 1;
+        return Math.max(2, capacity);
+    }
+
+    static int maxFill(int capacity, float loadFactor) {
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
+    }
+
+    static void checkLoadFactor(float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("load factor: " + loadFactor);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.barcellos.collections.primitive;
+
+/**
+ * Operação sobre uma entrada de chave {@code int} e valor do tipo {@code V}.
+ *
+ * Equivalente primitivo de {@code BiConsumer<Integer, V>}.
+ */
+@FunctionalInterface
+public interface IntObjConsumer<V> {
+
+    void accept(int key, V value);
+}
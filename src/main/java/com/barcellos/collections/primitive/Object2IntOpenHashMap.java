@@ -0,0 +1,302 @@
+package com.barcellos.collections.primitive;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Mapa de objetos para {@code int} com endereçamento aberto, sem nós por
+ * entrada e sem boxing dos valores.
+ *
+ * Segue o contrato de {@link java.util.HashMap}: aceita a chave {@code null},
+ * a ordem de iteração não é definida e {@code equals}/{@code hashCode} são
+ * compatíveis com um {@code Map<K, Integer>} com as mesmas entradas. Consultas
+ * por chaves ausentes devolvem {@link #defaultReturnValue()}, 0 por padrão.
+ */
+public class Object2IntOpenHashMap<K> {
+
+    private final float loadFactor;
+
+    private Object[] keys;
+    private int[] hashes;
+    private int[] values;
+    private int mask;
+    private int maxFill;
+    private int size;
+
+    private boolean containsNullKey;
+    private int nullValue;
+    private int defaultReturnValue;
+
+    public Object2IntOpenHashMap() {
+        this(Hashing.DEFAULT_EXPECTED_SIZE, Hashing.DEFAULT_LOAD_FACTOR);
+    }
+
+    public Object2IntOpenHashMap(int expectedSize) {
+        this(expectedSize, Hashing.DEFAULT_LOAD_FACTOR);
+    }
+
+    public Object2IntOpenHashMap(int expectedSize, float loadFactor) {
+        Hashing.checkLoadFactor(loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(Hashing.tableSize(expectedSize, loadFactor));
+    }
+
+    public int defaultReturnValue() {
+        return defaultReturnValue;
+    }
+
+    public void defaultReturnValue(int value) {
+        this.defaultReturnValue = value;
+    }
+
+    public int getInt(Object key) {
+        return getOrDefault(key, defaultReturnValue);
+    }
+
+    public int getOrDefault(Object key, int defaultValue) {
+        if (key == null) {
+            return containsNullKey ? nullValue : defaultValue;
+        }
+        int pos = find(key);
+        return pos < 0 ? defaultValue : values[pos];
+    }
+
+    public boolean containsKey(Object key) {
+        return key == null ? containsNullKey : find(key) >= 0;
+    }
+
+    public boolean containsValue(int value) {
+        if (containsNullKey && nullValue == value) {
+            return true;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return o valor anterior, ou {@link #defaultReturnValue()} se a chave não
+     *         existia
+     */
+    public int put(K key, int value) {
+        if (key == null) {
+            int previous = containsNullKey ? nullValue : defaultReturnValue;
+            if (!containsNullKey) {
+                containsNullKey = true;
+                size++;
+            }
+            nullValue = value;
+            return previous;
+        }
+
+        int hash = Hashing.mix(key.hashCode());
+        int pos = hash & mask;
+        Object current;
+        while ((current = keys[pos]) != null) {
+            if (hashes[pos] == hash && (current == key || current.equals(key))) {
+                int previous = values[pos];
+                values[pos] = value;
+                return previous;
+            }
+            pos = (pos + 1) & mask;
+        }
+        keys[pos] = key;
+        hashes[pos] = hash;
+        values[pos] = value;
+        if (++size > maxFill) {
+            rehash(keys.length * 2);
+        }
+        return defaultReturnValue;
+    }
+
+    /**
+     * Soma {@code increment} ao valor da chave, partindo de
+     * {@link #defaultReturnValue()} quando a chave não existe.
+     *
+     * @return o valor anterior
+     */
+    public int addTo(K key, int increment) {
+        if (key == null) {
+            int previous = containsNullKey ? nullValue : defaultReturnValue;
+            put(null, previous + increment);
+            return previous;
+        }
+        int pos = find(key);
+        if (pos < 0) {
+            put(key, defaultReturnValue + increment);
+            return defaultReturnValue;
+        }
+        int previous = values[pos];
+        values[pos] += increment;
+        return previous;
+    }
+
+    /**
+     * @return o valor removido, ou {@link #defaultReturnValue()} se a chave não
+     *         existia
+     */
+    public int removeInt(Object key) {
+        if (key == null) {
+            if (!containsNullKey) {
+                return defaultReturnValue;
+            }
+            containsNullKey = false;
+            size--;
+            return nullValue;
+        }
+
+        int pos = find(key);
+        if (pos < 0) {
+            return defaultReturnValue;
+        }
+        int previous = values[pos];
+        shiftKeys(pos);
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        containsNullKey = false;
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super K> action) {
+        if (containsNullKey) {
+            action.accept(null, nullValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept((K) keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Object2IntOpenHashMap)) {
+            return false;
+        }
+        Object2IntOpenHashMap<?> other = (Object2IntOpenHashMap<?>) obj;
+        if (size != other.size || containsNullKey != other.containsNullKey) {
+            return false;
+        }
+        if (containsNullKey && nullValue != other.nullValue) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                int pos = other.find(keys[i]);
+                if (pos < 0 || other.values[pos] != values[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = containsNullKey ? nullValue : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                hash += keys[i].hashCode() ^ values[i];
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    /**
+     * O hash de cada chave fica guardado ao lado dela, para que a sondagem
+     * compare inteiros antes de chamar {@code equals}.
+     */
+    private int find(Object key) {
+        int hash = Hashing.mix(key.hashCode());
+        int pos = hash & mask;
+        Object current;
+        while ((current = keys[pos]) != null) {
+            if (hashes[pos] == hash && (current == key || current.equals(key))) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void shiftKeys(int pos) {
+        int last;
+        int slot;
+        Object current;
+        for (;;) {
+            pos = ((last = pos) + 1) & mask;
+            for (;;) {
+                if ((current = keys[pos]) == null) {
+                    keys[last] = null;
+                    return;
+                }
+                slot = hashes[pos] & mask;
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            keys[last] = current;
+            hashes[last] = hashes[pos];
+            values[last] = values[pos];
+        }
+    }
+
+    private void rehash(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object key = oldKeys[i];
+            if (key != null) {
+                int pos = oldHashes[i] & mask;
+                while (keys[pos] != null) {
+                    pos = (pos + 1) & mask;
+                }
+                keys[pos] = key;
+                hashes[pos] = oldHashes[i];
+                values[pos] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        maxFill = Hashing.maxFill(capacity, loadFactor);
+    }
+}
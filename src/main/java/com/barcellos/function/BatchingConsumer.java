@@ -0,0 +1,264 @@
+package com.barcellos.function;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * {@link Consumer} que entrega os elementos em lotes para outro consumidor,
+ * em uma thread própria.
+ *
+ * <pre>
+ * try (BatchingConsumer&lt;Person&gt; greeter = new BatchingConsumer&lt;&gt;(batch -&gt; {
+ *     StringBuilder out = new StringBuilder();
+ *     batch.forEach(person -&gt; out.append("Hello, ").append(person.firstName).append('\n'));
+ *     System.out.print(out);
+ * }, 8192, 512, BatchingConsumer.Backpressure.BLOCK)) {
+ *     people.parallelStream().forEach(greeter);
+ * }
+ * </pre>
+ *
+ * Os produtores publicam em um buffer circular sem lock (fila limitada de
+ * múltiplos produtores e um consumidor, com um número de sequência por
+ * posição); a thread de escrita esvazia o buffer em lotes de até
+ * {@code batchSize} elementos. Com o buffer cheio vale a política de
+ * {@link Backpressure}. {@link #close()} espera a entrega de tudo o que foi
+ * aceito e deve ser chamado depois que os produtores terminaram, como no
+ * {@code shutdown} de um executor.
+ *
+ * A ordem de entrega é a ordem de publicação no buffer, exceto para elementos
+ * desviados pela política {@link Backpressure#SPILL}.
+ */
+public final class BatchingConsumer<T> implements Consumer<T>, AutoCloseable {
+
+    public enum Backpressure {
+        /**
+         * O produtor espera até haver espaço no buffer.
+         */
+        BLOCK,
+        /**
+         * O elemento é descartado e contado em {@link #droppedCount()}.
+         */
+        DROP,
+        /**
+         * O elemento vai para uma fila auxiliar sem limite, entregue depois do
+         * que já estiver no buffer.
+         */
+        SPILL
+    }
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Consumer<? super List<T>> sink;
+    private final int batchSize;
+    private final Backpressure backpressure;
+
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    private final Queue<T> spill = new ConcurrentLinkedQueue<>();
+    private final AtomicLong accepted = new AtomicLong();
+    private volatile long delivered;
+    private final LongAdder dropped = new LongAdder();
+
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+
+    /**
+     * @param sink         recebe cada lote na thread de escrita; a lista não
+     *                     deve ser guardada depois da chamada
+     * @param capacity     tamanho do buffer, arredondado para potência de 2
+     * @param batchSize    tamanho máximo de cada lote
+     * @param backpressure o que fazer quando o buffer está cheio
+     */
+    public BatchingConsumer(Consumer<? super List<T>> sink, int capacity, int batchSize, Backpressure backpressure) {
+        this.sink = Objects.requireNonNull(sink, "sink");
+        this.backpressure = Objects.requireNonNull(backpressure, "backpressure");
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize: " + batchSize);
+        }
+        this.batchSize = batchSize;
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+
+        this.writer = new Thread(this::drainLoop, "batching-consumer-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * @throws IllegalStateException depois de {@link #close()}
+     */
+    @Override
+    public void accept(T value) {
+        Objects.requireNonNull(value, "value");
+        checkOpen();
+
+        int spins = 0;
+        while (!offer(value)) {
+            switch (backpressure) {
+                case DROP:
+                    dropped.increment();
+                    return;
+                case SPILL:
+                    accepted.incrementAndGet();
+                    spill.add(value);
+                    LockSupport.unpark(writer);
+                    return;
+                default:
+                    checkOpen();
+                    LockSupport.unpark(writer);
+                    if (++spins < 64) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+                    }
+            }
+        }
+    }
+
+    /**
+     * Espera a entrega de todos os elementos aceitos até aqui.
+     */
+    public void flush() {
+        long target = accepted.get();
+        while (delivered < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * Entrega o que estiver pendente e encerra a thread de escrita.
+     *
+     * @throws IllegalStateException se o consumidor de lotes lançou exceção
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            LockSupport.unpark(writer);
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        rethrowFailure();
+    }
+
+    public long deliveredCount() {
+        return delivered;
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private boolean offer(T value) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long delta = sequences.get(index) - position;
+            if (delta == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    accepted.incrementAndGet();
+                    buffer.lazySet(index, value);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (delta < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Próximo elemento do buffer, ou {@code null} se ainda não foi publicado.
+     * Só é chamado pela thread de escrita.
+     */
+    private T poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        T value = buffer.get(index);
+        buffer.lazySet(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return value;
+    }
+
+    private void drainLoop() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (true) {
+            boolean stopping = closed;
+            T value;
+            while (batch.size() < batchSize && ((value = poll()) != null || (value = spill.poll()) != null)) {
+                batch.add(value);
+            }
+
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            } else if (stopping && head == tail.get() && spill.isEmpty()) {
+                return;
+            } else if (!stopping) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void deliver(List<T> batch) {
+        try {
+            sink.accept(batch);
+        } catch (RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+        delivered += batch.size();
+        batch.clear();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("BatchingConsumer is closed");
+        }
+    }
+
+    private void rethrowFailure() {
+        RuntimeException e = failure;
+        if (e != null) {
+            throw new IllegalStateException("Batch sink failed", e);
+        }
+    }
+}
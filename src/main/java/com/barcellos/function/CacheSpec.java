@@ -0,0 +1,71 @@
+package com.barcellos.function;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Configuração imutável do cache usado por {@link Functions#memoize}.
+ *
+ * <pre>
+ * CacheSpec.of(10_000).withExpireAfterWrite(Duration.ofMinutes(5))
+ * </pre>
+ */
+public final class CacheSpec {
+
+    private final long maximumSize;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+
+    private CacheSpec(long maximumSize, long expireAfterWriteNanos, LongSupplier ticker) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Cache com no máximo {@code maximumSize} entradas e sem expiração.
+     */
+    public static CacheSpec of(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize: " + maximumSize);
+        }
+        return new CacheSpec(maximumSize, 0, System::nanoTime);
+    }
+
+    /**
+     * Entradas expiram {@code duration} depois de gravadas; zero desliga a
+     * expiração.
+     */
+    public CacheSpec withExpireAfterWrite(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("duration: " + duration);
+        }
+        return new CacheSpec(maximumSize, duration.toNanos(), ticker);
+    }
+
+    /**
+     * Fonte de tempo em nanossegundos, substituível nos testes.
+     */
+    public CacheSpec withTicker(LongSupplier ticker) {
+        return new CacheSpec(maximumSize, expireAfterWriteNanos, Objects.requireNonNull(ticker, "ticker"));
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getExpireAfterWriteNanos() {
+        return expireAfterWriteNanos;
+    }
+
+    LongSupplier getTicker() {
+        return ticker;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheSpec[maximumSize=" + maximumSize + ", expireAfterWrite=" + Duration.ofNanos(expireAfterWriteNanos)
+                + "]";
+    }
+}
@@ -0,0 +1,46 @@
+package com.barcellos.function;
+
+/**
+ * Contadores de um cache em um dado momento.
+ */
+public final class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    public CacheStats(long hits, long misses, long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public long hitCount() {
+        return hits;
+    }
+
+    public long missCount() {
+        return misses;
+    }
+
+    /**
+     * Entradas removidas por tamanho ou por expiração.
+     */
+    public long evictionCount() {
+        return evictions;
+    }
+
+    public long requestCount() {
+        return hits + misses;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats[hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+}
@@ -0,0 +1,113 @@
+package com.barcellos.function;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Relógio que guarda a data atual e sua forma formatada até o próximo
+ * "tique" (por exemplo, a próxima virada de minuto).
+ *
+ * Substitui fornecedores como
+ * {@code () -> dateTimeFormatter.format(LocalDateTime.now())}, que formatam a
+ * data a cada chamada mesmo quando o resultado só muda uma vez por minuto. A
+ * leitura custa uma consulta ao {@link Clock} e uma leitura volátil, sem
+ * trava; o recálculo acontece no máximo uma vez por tique (duas threads podem
+ * recalcular ao mesmo tempo, com o mesmo resultado).
+ *
+ * O {@link Clock} é recebido no construtor, então os testes podem usar um
+ * relógio controlado.
+ */
+public final class CachedClock {
+
+    private final Clock clock;
+    private final ChronoUnit precision;
+    private final DateTimeFormatter formatter;
+
+    private volatile Snapshot snapshot;
+
+    public CachedClock(Clock clock, ChronoUnit precision, DateTimeFormatter formatter) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.precision = Objects.requireNonNull(precision, "precision");
+        this.formatter = Objects.requireNonNull(formatter, "formatter");
+        if (precision.getDuration().compareTo(ChronoUnit.DAYS.getDuration()) > 0) {
+            throw new IllegalArgumentException("precision larger than a day: " + precision);
+        }
+        this.snapshot = snapshot(clock.instant());
+    }
+
+    /**
+     * Relógio com precisão de minuto, no formato {@code yyyy-MM-dd HH:mm}.
+     */
+    public static CachedClock minutes(Clock clock) {
+        return new CachedClock(clock, ChronoUnit.MINUTES, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"));
+    }
+
+    public LocalDate today() {
+        return current().date;
+    }
+
+    /**
+     * Data e hora atuais, truncadas na precisão do relógio.
+     */
+    public LocalDateTime now() {
+        return current().dateTime;
+    }
+
+    public String formatted() {
+        return current().formatted;
+    }
+
+    public Supplier<LocalDate> dateSupplier() {
+        return this::today;
+    }
+
+    public Supplier<String> formattedSupplier() {
+        return this::formatted;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        long millis = clock.millis();
+        if (millis >= current.validFrom && millis < current.validUntil) {
+            return current;
+        }
+        current = snapshot(Instant.ofEpochMilli(millis));
+        snapshot = current;
+        return current;
+    }
+
+    private Snapshot snapshot(Instant instant) {
+        ZonedDateTime now = ZonedDateTime.ofInstant(instant, clock.getZone()).truncatedTo(precision);
+        ZonedDateTime next = now.plus(1, precision);
+        LocalDateTime dateTime = now.toLocalDateTime();
+        return new Snapshot(dateTime, formatter.format(dateTime),
+                now.toInstant().toEpochMilli(), next.toInstant().toEpochMilli());
+    }
+
+    private static final class Snapshot {
+        final LocalDate date;
+        final LocalDateTime dateTime;
+        final String formatted;
+        final long validFrom;
+        final long validUntil;
+
+        Snapshot(LocalDateTime dateTime, String formatted, long validFrom, long validUntil) {
+            this.date = dateTime.toLocalDate();
+            this.dateTime = dateTime;
+            this.formatted = formatted;
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.barcellos.function;
+
+/**
+ * Contadores de uma cláusula de um {@link CompiledPredicate}.
+ */
+public final class ClauseStats {
+
+    private final String name;
+    private final boolean negated;
+    private final long evaluations;
+    private final long passes;
+
+    ClauseStats(String name, boolean negated, long evaluations, long passes) {
+        this.name = name;
+        this.negated = negated;
+        this.evaluations = evaluations;
+        this.passes = passes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Indica se a cláusula aparece negada depois da normalização.
+     */
+    public boolean isNegated() {
+        return negated;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Quantas avaliações resultaram em {@code true}, já considerando a negação.
+     */
+    public long getPasses() {
+        return passes;
+    }
+
+    public double getPassRate() {
+        return evaluations == 0 ? 0.0 : (double) passes / evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return (negated ? "!" : "") + name + "[evaluations=" + evaluations + ", passRate=" + getPassRate() + "]";
+    }
+}
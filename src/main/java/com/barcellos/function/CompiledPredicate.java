@@ -0,0 +1,230 @@
+package com.barcellos.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Avaliador de uma {@link Condition} achatada.
+ *
+ * Na compilação, as negações são empurradas até as cláusulas (De Morgan),
+ * negações duplas desaparecem e grupos aninhados do mesmo tipo viram um
+ * único grupo: {@code a.and(b.and(c)).negate()} vira
+ * {@code !a || !b || !c}, avaliado em um laço sobre um array em vez de uma
+ * cadeia de lambdas.
+ *
+ * Cada cláusula conta quantas vezes foi avaliada e quantas passou. A cada
+ * {@link #REORDER_INTERVAL} avaliações de um grupo, os filhos são reordenados
+ * para que o curto-circuito aconteça o mais cedo possível: em um {@code &&}
+ * primeiro as cláusulas com menor custo por rejeição, em um {@code ||}
+ * primeiro as de menor custo por aceitação. O resultado é sempre o mesmo de
+ * {@link Predicate#and}/{@link Predicate#or}, desde que as cláusulas sejam
+ * puras; só muda a ordem (e a quantidade) de cláusulas avaliadas. Grupos
+ * ordenados ({@link Predicates#allOfInOrder}, {@link Condition#andThen})
+ * mantêm a ordem original e só são achatados em grupos ordenados do mesmo
+ * tipo, para que uma guarda continue antes da cláusula que ela protege.
+ *
+ * Pode ser usado por várias threads; os contadores não são sincronizados e
+ * por isso são aproximados sob concorrência.
+ */
+public final class CompiledPredicate<T> implements Predicate<T> {
+
+    public static final int REORDER_INTERVAL = 1024;
+
+    private final Node<T> root;
+    private final List<Leaf<T>> leaves = new ArrayList<>();
+
+    CompiledPredicate(Condition<T> condition) {
+        this.root = normalize(condition, false);
+    }
+
+    @Override
+    public boolean test(T value) {
+        return root.test(value);
+    }
+
+    /**
+     * Contadores de cada cláusula, na ordem em que aparecem na expressão
+     * original.
+     */
+    public List<ClauseStats> stats() {
+        List<ClauseStats> stats = new ArrayList<>(leaves.size());
+        for (Leaf<T> leaf : leaves) {
+            stats.add(new ClauseStats(leaf.clause.name, leaf.negated, leaf.evaluations, leaf.passes));
+        }
+        return stats;
+    }
+
+    /**
+     * Forma normalizada, na ordem de avaliação atual.
+     */
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+
+    private Node<T> normalize(Condition<T> condition, boolean negated) {
+        if (condition instanceof Condition.Not) {
+            return normalize(((Condition.Not<T>) condition).child, !negated);
+        }
+        if (condition instanceof Condition.Clause) {
+            Leaf<T> leaf = new Leaf<>((Condition.Clause<T>) condition, negated);
+            leaves.add(leaf);
+            return leaf;
+        }
+
+        Condition.Group<T> group = (Condition.Group<T>) condition;
+        boolean conjunction = group.conjunction != negated;
+        List<Node<T>> children = new ArrayList<>();
+        for (Condition<T> child : group.children) {
+            Node<T> node = normalize(child, negated);
+            if (node instanceof Group && ((Group<T>) node).conjunction == conjunction
+                    && ((Group<T>) node).ordered == group.ordered) {
+                children.addAll(Arrays.asList(((Group<T>) node).children));
+            } else {
+                children.add(node);
+            }
+        }
+        if (children.size() == 1) {
+            return children.get(0);
+        }
+        return new Group<>(conjunction, group.ordered, children);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] toArray(List<Node<T>> nodes) {
+        return nodes.toArray((Node<T>[]) new Node<?>[nodes.size()]);
+    }
+
+    private abstract static class Node<T> {
+
+        long evaluations;
+        long passes;
+
+        abstract boolean test(T value);
+
+        /**
+         * Custo esperado de uma avaliação.
+         */
+        abstract double cost();
+
+        double passRate() {
+            // Sem medições, assume que metade passa.
+            return (passes + 1.0) / (evaluations + 2.0);
+        }
+    }
+
+    private static final class Leaf<T> extends Node<T> {
+
+        final Condition.Clause<T> clause;
+        final boolean negated;
+
+        Leaf(Condition.Clause<T> clause, boolean negated) {
+            this.clause = clause;
+            this.negated = negated;
+        }
+
+        @Override
+        boolean test(T value) {
+            boolean result = clause.predicate.test(value) != negated;
+            evaluations++;
+            if (result) {
+                passes++;
+            }
+            return result;
+        }
+
+        @Override
+        double cost() {
+            return clause.cost;
+        }
+
+        @Override
+        public String toString() {
+            return negated ? "!" + clause.name : clause.name;
+        }
+    }
+
+    private static final class Group<T> extends Node<T> {
+
+        final boolean conjunction;
+        final boolean ordered;
+        volatile Node<T>[] children;
+        private int untilReorder = REORDER_INTERVAL;
+
+        Group(boolean conjunction, boolean ordered, List<Node<T>> children) {
+            this.conjunction = conjunction;
+            this.ordered = ordered;
+            this.children = toArray(children);
+        }
+
+        @Override
+        boolean test(T value) {
+            Node<T>[] nodes = children;
+            boolean result = conjunction;
+            for (Node<T> node : nodes) {
+                if (node.test(value) != conjunction) {
+                    result = !conjunction;
+                    break;
+                }
+            }
+            evaluations++;
+            if (result) {
+                passes++;
+            }
+            if (!ordered && --untilReorder <= 0) {
+                untilReorder = REORDER_INTERVAL;
+                reorder(nodes);
+            }
+            return result;
+        }
+
+        /**
+         * Ordena pelo custo dividido pela probabilidade de encerrar a
+         * avaliação, a ordem ótima para cláusulas independentes.
+         */
+        private void reorder(Node<T>[] nodes) {
+            Node<T>[] sorted = nodes.clone();
+            double[] rank = new double[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                double stop = conjunction ? 1 - sorted[i].passRate() : sorted[i].passRate();
+                rank[i] = sorted[i].cost() / Math.max(stop, 1e-9);
+            }
+            Integer[] order = new Integer[sorted.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(i -> rank[i]));
+            for (int i = 0; i < order.length; i++) {
+                sorted[i] = nodes[order[i]];
+            }
+            children = sorted;
+        }
+
+        @Override
+        double cost() {
+            double cost = 0;
+            double reach = 1;
+            for (Node<T> node : children) {
+                cost += reach * node.cost();
+                reach *= conjunction ? node.passRate() : 1 - node.passRate();
+            }
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(ordered ? "[" : "(");
+            Node<T>[] nodes = children;
+            for (int i = 0; i < nodes.length; i++) {
+                if (i > 0) {
+                    builder.append(conjunction ? " && " : " || ");
+                }
+                builder.append(nodes[i]);
+            }
+            return builder.append(ordered ? ']' : ')').toString();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.barcellos.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Expressão booleana composta por cláusulas nomeadas, no mesmo estilo de
+ * {@link Predicate#and}, {@link Predicate#or} e {@link Predicate#negate}.
+ *
+ * Ao contrário de {@code Predicate}, a árvore continua visível até
+ * {@link #compile()}, que a achata em um único avaliador
+ * ({@link CompiledPredicate}). Criada por {@link Predicates#clause}.
+ */
+public abstract class Condition<T> {
+
+    Condition() {
+    }
+
+    public Condition<T> and(Condition<T> other) {
+        return new Group<>(true, false, Arrays.asList(this, Objects.requireNonNull(other, "other")));
+    }
+
+    public Condition<T> or(Condition<T> other) {
+        return new Group<>(false, false, Arrays.asList(this, Objects.requireNonNull(other, "other")));
+    }
+
+    /**
+     * Conjunção que nunca é reordenada: {@code other} só é avaliada se esta
+     * condição passar, como em {@link Predicate#and}. Para guardas.
+     */
+    public Condition<T> andThen(Condition<T> other) {
+        return new Group<>(true, true, Arrays.asList(this, Objects.requireNonNull(other, "other")));
+    }
+
+    public Condition<T> negate() {
+        return new Not<>(this);
+    }
+
+    public CompiledPredicate<T> compile() {
+        return new CompiledPredicate<>(this);
+    }
+
+    static final class Clause<T> extends Condition<T> {
+        final String name;
+        final Predicate<? super T> predicate;
+        final double cost;
+
+        Clause(String name, Predicate<? super T> predicate, double cost) {
+            this.name = Objects.requireNonNull(name, "name");
+            this.predicate = Objects.requireNonNull(predicate, "predicate");
+            if (!(cost > 0)) {
+                throw new IllegalArgumentException("cost: " + cost);
+            }
+            this.cost = cost;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static final class Group<T> extends Condition<T> {
+        final boolean conjunction;
+        /**
+         * Avaliado sempre na ordem de {@link #children}.
+         */
+        final boolean ordered;
+        final List<Condition<T>> children;
+
+        Group(boolean conjunction, boolean ordered, List<Condition<T>> children) {
+            this.conjunction = conjunction;
+            this.ordered = ordered;
+            this.children = Collections.unmodifiableList(new ArrayList<>(children));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(ordered ? "[" : "(");
+            for (int i = 0; i < children.size(); i++) {
+                if (i > 0) {
+                    builder.append(conjunction ? " && " : " || ");
+                }
+                builder.append(children.get(i));
+            }
+            return builder.append(ordered ? ']' : ')').toString();
+        }
+    }
+
+    static final class Not<T> extends Condition<T> {
+        final Condition<T> child;
+
+        Not(Condition<T> child) {
+            this.child = child;
+        }
+
+        @Override
+        public String toString() {
+            return "!" + child;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.barcellos.function;
+
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Como {@link IntPipeline}, para {@code double}.
+ */
+public final class DoublePipeline<T> implements ToDoubleFunction<T> {
+
+    private final ToDoubleFunction<? super T> fused;
+    private final int stageCount;
+
+    DoublePipeline(ToDoubleFunction<? super T> source) {
+        this(Objects.requireNonNull(source, "source"), 0);
+    }
+
+    DoublePipeline(ToDoubleFunction<? super T> fused, int stageCount) {
+        this.fused = fused;
+        this.stageCount = stageCount;
+    }
+
+    public DoublePipeline<T> map(DoubleUnaryOperator stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToDoubleFunction<? super T> previous = fused;
+        return new DoublePipeline<>(value -> stage.applyAsDouble(previous.applyAsDouble(value)), stageCount + 1);
+    }
+
+    public IntPipeline<T> mapToInt(DoubleToIntFunction stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToDoubleFunction<? super T> previous = fused;
+        return new IntPipeline<>(value -> stage.applyAsInt(previous.applyAsDouble(value)), stageCount + 1);
+    }
+
+    public LongPipeline<T> mapToLong(DoubleToLongFunction stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToDoubleFunction<? super T> previous = fused;
+        return new LongPipeline<>(value -> stage.applyAsLong(previous.applyAsDouble(value)), stageCount + 1);
+    }
+
+    @Override
+    public double applyAsDouble(T value) {
+        return fused.applyAsDouble(value);
+    }
+
+    public <R> Function<T, R> mapToObj(DoubleFunction<? extends R> last) {
+        Objects.requireNonNull(last, "last");
+        ToDoubleFunction<? super T> chain = fused;
+        return value -> last.apply(chain.applyAsDouble(value));
+    }
+
+    public Predicate<T> test(DoublePredicate last) {
+        Objects.requireNonNull(last, "last");
+        ToDoubleFunction<? super T> chain = fused;
+        return value -> last.test(chain.applyAsDouble(value));
+    }
+
+    public Function<T, Double> boxed() {
+        ToDoubleFunction<? super T> chain = fused;
+        return chain::applyAsDouble;
+    }
+
+    public int stageCount() {
+        return stageCount;
+    }
+}
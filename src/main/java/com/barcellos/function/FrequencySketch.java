@@ -0,0 +1,69 @@
+package com.barcellos.function;
+
+/**
+ * Estimativa aproximada da frequência de acesso de cada chave (count-min
+ * sketch com contadores de 4 bits).
+ *
+ * Os contadores são divididos pela metade periodicamente, para que chaves
+ * populares no passado percam peso. As atualizações não são sincronizadas:
+ * perder um incremento ocasional só torna a estimativa um pouco menos
+ * precisa.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = { 0x97CB3127, 0xB9F9A5F3, 0x5C8C1A4B, 0xE4F2BB19 };
+
+    private final byte[] table;
+    private final int mask;
+    private final int resetThreshold;
+    private int additions;
+
+    FrequencySketch(long maximumSize) {
+        int width = Integer.highestOneBit((int) Math.min(1 << 24, Math.max(16, maximumSize * 4)) - 1) << 1;
+        this.table = new byte[width * DEPTH];
+        this.mask = width - 1;
+        this.resetThreshold = (int) Math.min(Integer.MAX_VALUE, Math.max(160, maximumSize * 10));
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = slot(hash, row);
+            if (table[index] < 15) {
+                table[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= resetThreshold) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, table[slot(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (byte) (table[i] >>> 1);
+        }
+        additions = 0;
+    }
+
+    private int slot(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9E3779B9;
+        return row * (mask + 1) + ((h ^ (h >>> 16)) & mask);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+}
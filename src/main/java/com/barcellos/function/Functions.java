@@ -0,0 +1,53 @@
+package com.barcellos.function;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Utilitários para composição de {@link Function}.
+ */
+public final class Functions {
+
+    private Functions() {
+    }
+
+    /**
+     * Decora {@code function} com um cache limitado e concorrente.
+     *
+     * <pre>
+     * Function&lt;String, Integer&gt; toInteger = Functions.memoize(Integer::valueOf, CacheSpec.of(1_000));
+     * Function&lt;String, String&gt; backToString = toInteger.andThen(String::valueOf);
+     * </pre>
+     */
+    public static <T, R> MemoizedFunction<T, R> memoize(Function<? super T, ? extends R> function, CacheSpec spec) {
+        return new MemoizedFunction<>(function, spec);
+    }
+
+    /**
+     * Inicia uma cadeia de etapas sobre {@code int} sem boxing intermediário.
+     *
+     * <pre>
+     * Function&lt;String, String&gt; backToString = Functions.&lt;String&gt;pipeline(Integer::parseInt)
+     *         .mapToObj(String::valueOf);
+     * </pre>
+     */
+    public static <T> IntPipeline<T> pipeline(ToIntFunction<? super T> first) {
+        return new IntPipeline<>(first);
+    }
+
+    /**
+     * Como {@link #pipeline}, com etapas sobre {@code long}.
+     */
+    public static <T> LongPipeline<T> longPipeline(ToLongFunction<? super T> first) {
+        return new LongPipeline<>(first);
+    }
+
+    /**
+     * Como {@link #pipeline}, com etapas sobre {@code double}.
+     */
+    public static <T> DoublePipeline<T> doublePipeline(ToDoubleFunction<? super T> first) {
+        return new DoublePipeline<>(first);
+    }
+}
@@ -0,0 +1,106 @@
+package com.barcellos.function;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cadeia de transformações sobre {@code int} executada sem boxing.
+ *
+ * {@code toInteger.andThen(f).andThen(g)} converte o valor para
+ * {@link Integer} entre as etapas. Aqui cada {@link #map} compõe a etapa com
+ * a função anterior em uma única {@link ToIntFunction} aninhada, com o valor
+ * intermediário sempre primitivo; o boxing acontece no máximo uma vez, ao
+ * converter para {@link Function}. Quem chama a cadeia faz uma só chamada.
+ *
+ * A composição em si continua sendo uma chamada por etapa: todas as etapas
+ * passam pelo mesmo corpo de lambda, e o JIT só embute alguns níveis dessa
+ * recursão, então em cadeias longas o ganho sobre {@code andThen} vem da
+ * ausência de boxing, não de fundir as etapas em um único método (veja
+ * {@code FunctionBenchmark}).
+ *
+ * <pre>
+ * Function&lt;String, String&gt; backToString = Functions.&lt;String&gt;pipeline(Integer::parseInt)
+ *         .map(n -&gt; n * 2)
+ *         .mapToObj(String::valueOf);
+ * </pre>
+ *
+ * Instâncias são imutáveis: cada {@link #map} devolve uma nova cadeia.
+ */
+public final class IntPipeline<T> implements ToIntFunction<T> {
+
+    private final ToIntFunction<? super T> fused;
+    private final int stageCount;
+
+    IntPipeline(ToIntFunction<? super T> source) {
+        this(Objects.requireNonNull(source, "source"), 0);
+    }
+
+    IntPipeline(ToIntFunction<? super T> fused, int stageCount) {
+        this.fused = fused;
+        this.stageCount = stageCount;
+    }
+
+    public IntPipeline<T> map(IntUnaryOperator stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToIntFunction<? super T> previous = fused;
+        return new IntPipeline<>(value -> stage.applyAsInt(previous.applyAsInt(value)), stageCount + 1);
+    }
+
+    public LongPipeline<T> mapToLong(IntToLongFunction stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToIntFunction<? super T> previous = fused;
+        return new LongPipeline<>(value -> stage.applyAsLong(previous.applyAsInt(value)), stageCount + 1);
+    }
+
+    public DoublePipeline<T> mapToDouble(IntToDoubleFunction stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToIntFunction<? super T> previous = fused;
+        return new DoublePipeline<>(value -> stage.applyAsDouble(previous.applyAsInt(value)), stageCount + 1);
+    }
+
+    @Override
+    public int applyAsInt(T value) {
+        return fused.applyAsInt(value);
+    }
+
+    /**
+     * Etapa final que converte o {@code int} em objeto.
+     */
+    public <R> Function<T, R> mapToObj(IntFunction<? extends R> last) {
+        Objects.requireNonNull(last, "last");
+        ToIntFunction<? super T> chain = fused;
+        return value -> last.apply(chain.applyAsInt(value));
+    }
+
+    /**
+     * Etapa final que testa o {@code int}.
+     */
+    public Predicate<T> test(IntPredicate last) {
+        Objects.requireNonNull(last, "last");
+        ToIntFunction<? super T> chain = fused;
+        return value -> last.test(chain.applyAsInt(value));
+    }
+
+    /**
+     * Para interoperar com APIs que esperam {@link Function}; o resultado é
+     * convertido para {@link Integer} uma única vez.
+     */
+    public Function<T, Integer> boxed() {
+        ToIntFunction<? super T> chain = fused;
+        return chain::applyAsInt;
+    }
+
+    /**
+     * Quantidade de etapas depois da função inicial.
+     */
+    public int stageCount() {
+        return stageCount;
+    }
+}
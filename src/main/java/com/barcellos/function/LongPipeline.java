@@ -0,0 +1,73 @@
+package com.barcellos.function;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Como {@link IntPipeline}, para {@code long}.
+ */
+public final class LongPipeline<T> implements ToLongFunction<T> {
+
+    private final ToLongFunction<? super T> fused;
+    private final int stageCount;
+
+    LongPipeline(ToLongFunction<? super T> source) {
+        this(Objects.requireNonNull(source, "source"), 0);
+    }
+
+    LongPipeline(ToLongFunction<? super T> fused, int stageCount) {
+        this.fused = fused;
+        this.stageCount = stageCount;
+    }
+
+    public LongPipeline<T> map(LongUnaryOperator stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToLongFunction<? super T> previous = fused;
+        return new LongPipeline<>(value -> stage.applyAsLong(previous.applyAsLong(value)), stageCount + 1);
+    }
+
+    public IntPipeline<T> mapToInt(LongToIntFunction stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToLongFunction<? super T> previous = fused;
+        return new IntPipeline<>(value -> stage.applyAsInt(previous.applyAsLong(value)), stageCount + 1);
+    }
+
+    public DoublePipeline<T> mapToDouble(LongToDoubleFunction stage) {
+        Objects.requireNonNull(stage, "stage");
+        ToLongFunction<? super T> previous = fused;
+        return new DoublePipeline<>(value -> stage.applyAsDouble(previous.applyAsLong(value)), stageCount + 1);
+    }
+
+    @Override
+    public long applyAsLong(T value) {
+        return fused.applyAsLong(value);
+    }
+
+    public <R> Function<T, R> mapToObj(LongFunction<? extends R> last) {
+        Objects.requireNonNull(last, "last");
+        ToLongFunction<? super T> chain = fused;
+        return value -> last.apply(chain.applyAsLong(value));
+    }
+
+    public Predicate<T> test(LongPredicate last) {
+        Objects.requireNonNull(last, "last");
+        ToLongFunction<? super T> chain = fused;
+        return value -> last.test(chain.applyAsLong(value));
+    }
+
+    public Function<T, Long> boxed() {
+        ToLongFunction<? super T> chain = fused;
+        return chain::applyAsLong;
+    }
+
+    public int stageCount() {
+        return stageCount;
+    }
+}
@@ -0,0 +1,158 @@
+package com.barcellos.function;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Função que guarda os resultados de outra em um cache limitado e
+ * concorrente. Criada por {@link Functions#memoize(Function, CacheSpec)}.
+ *
+ * Leituras não usam trava. Quando o cache está cheio, uma chave nova só
+ * entra se for acessada com mais frequência que a candidata a sair (admissão
+ * TinyLFU); assim uma varredura de chaves acessadas uma única vez não expulsa
+ * as chaves populares. A candidata a sair é a entrada mais antiga, e quem
+ * vence a comparação ganha uma segunda chance no fim da fila.
+ *
+ * Exceções lançadas pela função original são propagadas e nunca guardadas.
+ * Duas chamadas simultâneas com a mesma chave ausente podem calcular o valor
+ * duas vezes.
+ */
+public final class MemoizedFunction<T, R> implements Function<T, R> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final Function<? super T, ? extends R> function;
+    private final long maximumSize;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<Object, Node<R>> map = new ConcurrentHashMap<>();
+    private final ArrayDeque<Node<R>> queue = new ArrayDeque<>();
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    MemoizedFunction(Function<? super T, ? extends R> function, CacheSpec spec) {
+        this.function = Objects.requireNonNull(function, "function");
+        this.maximumSize = spec.getMaximumSize();
+        this.expireAfterWriteNanos = spec.getExpireAfterWriteNanos();
+        this.ticker = spec.getTicker();
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public R apply(T key) {
+        Object k = key == null ? NULL_KEY : key;
+        sketch.increment(k);
+
+        Node<R> node = map.get(k);
+        if (node != null) {
+            if (!isExpired(node, ticker.getAsLong())) {
+                hits.increment();
+                return node.value;
+            }
+            if (map.remove(k, node)) {
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        R value = function.apply(key);
+        admit(k, value);
+        return value;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    public long estimatedSize() {
+        return map.size();
+    }
+
+    public void invalidateAll() {
+        synchronized (queue) {
+            map.clear();
+            queue.clear();
+        }
+    }
+
+    private void admit(Object key, R value) {
+        if (maximumSize == 0) {
+            return;
+        }
+
+        synchronized (queue) {
+            long now = ticker.getAsLong();
+            Node<R> candidate = new Node<>(key, value, now);
+            purgeExpired(now);
+
+            if (map.containsKey(key)) {
+                map.put(key, candidate);
+                queue.addLast(candidate);
+                return;
+            }
+
+            while (map.size() >= maximumSize) {
+                Node<R> victim = queue.pollFirst();
+                if (victim == null) {
+                    break;
+                }
+                if (map.get(victim.key) != victim) {
+                    continue;
+                }
+                if (sketch.frequency(key) > sketch.frequency(victim.key)) {
+                    map.remove(victim.key, victim);
+                    evictions.increment();
+                } else {
+                    queue.addLast(victim);
+                    return;
+                }
+            }
+
+            map.put(key, candidate);
+            queue.addLast(candidate);
+        }
+    }
+
+    /**
+     * Remove do início da fila as entradas já expiradas ou substituídas.
+     */
+    private void purgeExpired(long now) {
+        Node<R> head;
+        while ((head = queue.peekFirst()) != null) {
+            if (map.get(head.key) != head) {
+                queue.pollFirst();
+            } else if (isExpired(head, now)) {
+                queue.pollFirst();
+                if (map.remove(head.key, head)) {
+                    evictions.increment();
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    private boolean isExpired(Node<R> node, long now) {
+        return expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos;
+    }
+
+    private static final class Node<R> {
+        final Object key;
+        final R value;
+        final long writeTime;
+
+        Node(Object key, R value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.barcellos.function;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Construção de predicados compostos otimizáveis.
+ *
+ * <pre>
+ * CompiledPredicate&lt;String&gt; rule = Predicates.clause("notEmpty", (String s) -&gt; !s.isEmpty())
+ *         .and(Predicates.clause("matches", s -&gt; s.matches("[a-z]+"), 20))
+ *         .compile();
+ * </pre>
+ *
+ * As cláusulas devem ser puras (sem efeitos colaterais e sem lançar
+ * exceções), pois o avaliador pode reordená-las. Quando uma cláusula só pode
+ * ser avaliada depois de outra (uma guarda, como testar se o nome está
+ * presente antes de lê-lo), use {@link #allOfInOrder}, {@link #anyOfInOrder}
+ * ou {@link Condition#andThen}: esses grupos nunca são reordenados e fazem o
+ * mesmo curto-circuito de {@link Predicate#and}/{@link Predicate#or}.
+ *
+ * <pre>
+ * Condition&lt;Person&gt; named = Predicates.clause("hasName", (Person p) -&gt; p.getName().isPresent())
+ *         .andThen(Predicates.clause("startsWithA", p -&gt; p.getName().get().startsWith("A")));
+ * </pre>
+ */
+public final class Predicates {
+
+    public static final double DEFAULT_COST = 1.0;
+
+    private Predicates() {
+    }
+
+    public static <T> Condition<T> clause(String name, Predicate<? super T> predicate) {
+        return clause(name, predicate, DEFAULT_COST);
+    }
+
+    /**
+     * @param cost custo relativo de avaliar a cláusula; cláusulas baratas e
+     *             seletivas são avaliadas primeiro
+     */
+    public static <T> Condition<T> clause(String name, Predicate<? super T> predicate, double cost) {
+        return new Condition.Clause<>(name, predicate, cost);
+    }
+
+    @SafeVarargs
+    public static <T> Condition<T> allOf(Condition<T>... conditions) {
+        List<Condition<T>> children = new ArrayList<>(conditions.length);
+        for (Condition<T> condition : conditions) {
+            children.add(condition);
+        }
+        return group(true, false, children);
+    }
+
+    @SafeVarargs
+    public static <T> Condition<T> anyOf(Condition<T>... conditions) {
+        List<Condition<T>> children = new ArrayList<>(conditions.length);
+        for (Condition<T> condition : conditions) {
+            children.add(condition);
+        }
+        return group(false, false, children);
+    }
+
+    /**
+     * Como {@link #allOf}, mas avaliado sempre na ordem dada.
+     */
+    @SafeVarargs
+    public static <T> Condition<T> allOfInOrder(Condition<T>... conditions) {
+        List<Condition<T>> children = new ArrayList<>(conditions.length);
+        for (Condition<T> condition : conditions) {
+            children.add(condition);
+        }
+        return group(true, true, children);
+    }
+
+    /**
+     * Como {@link #anyOf}, mas avaliado sempre na ordem dada.
+     */
+    @SafeVarargs
+    public static <T> Condition<T> anyOfInOrder(Condition<T>... conditions) {
+        List<Condition<T>> children = new ArrayList<>(conditions.length);
+        for (Condition<T> condition : conditions) {
+            children.add(condition);
+        }
+        return group(false, true, children);
+    }
+
+    /**
+     * Os métodos varargs copiam o array em uma lista antes de chamar este
+     * método: repassar o array genérico geraria o aviso de heap pollution
+     * mesmo com {@code @SafeVarargs}.
+     */
+    private static <T> Condition<T> group(boolean conjunction, boolean ordered, List<Condition<T>> conditions) {
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("at least one condition is required");
+        }
+        for (Condition<T> condition : conditions) {
+            Objects.requireNonNull(condition, "condition");
+        }
+        return new Condition.Group<>(conjunction, ordered, conditions);
+    }
+}
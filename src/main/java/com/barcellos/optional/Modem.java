@@ -1,5 +1,8 @@
 package com.barcellos.optional;
 
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+
 public class Modem {
     private Double price;
 
@@ -10,4 +13,24 @@ public class Modem {
     public Double getPrice() {
         return price;
     }
+
+    public boolean hasPrice() {
+        return price != null;
+    }
+
+    /**
+     * Preço como primitivo. Deve ser precedido por {@link #hasPrice()}.
+     *
+     * @throws NoSuchElementException se o modem não tiver preço
+     */
+    public double getPriceAsDouble() {
+        if (price == null) {
+            throw new NoSuchElementException("No price present");
+        }
+        return price;
+    }
+
+    public OptionalDouble getPriceAsOptional() {
+        return price == null ? OptionalDouble.empty() : OptionalDouble.of(price);
+    }
 }
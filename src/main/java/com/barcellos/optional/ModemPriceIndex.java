@@ -0,0 +1,131 @@
+package com.barcellos.optional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Índice imutável de modems por preço.
+ *
+ * Os preços ficam ordenados em um {@code double[]} e as consultas por faixa
+ * usam busca binária, em vez de testar modem a modem como em
+ * {@code priceIsInRange}. Modems sem preço ficam em uma lista separada; modems
+ * nulos e preços {@code NaN} nunca estão em nenhuma faixa.
+ *
+ * As consultas devolvem os modems em ordem crescente de preço e, em caso de
+ * empate, na ordem da coleção de origem.
+ */
+public class ModemPriceIndex {
+
+    private final double[] prices;
+    private final Modem[] modems;
+    private final List<Modem> withoutPrice;
+    private final int size;
+
+    public ModemPriceIndex(Collection<Modem> modems) {
+        Objects.requireNonNull(modems, "modems");
+
+        List<Modem> priced = new ArrayList<>(modems.size());
+        List<Modem> withoutPrice = new ArrayList<>();
+        for (Modem modem : modems) {
+            if (modem == null) {
+                continue;
+            }
+            if (!modem.hasPrice()) {
+                withoutPrice.add(modem);
+            } else if (!Double.isNaN(modem.getPriceAsDouble())) {
+                priced.add(modem);
+            }
+        }
+        priced.sort(Comparator.comparingDouble(Modem::getPriceAsDouble));
+
+        this.modems = priced.toArray(new Modem[0]);
+        this.prices = new double[this.modems.length];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = this.modems[i].getPriceAsDouble();
+        }
+        this.withoutPrice = Collections.unmodifiableList(withoutPrice);
+        this.size = modems.size();
+    }
+
+    /**
+     * Modems com preço entre {@code min} e {@code max}, ambos inclusivos.
+     */
+    public List<Modem> inRange(double min, double max) {
+        return inRange(min, true, max, true);
+    }
+
+    public List<Modem> inRange(double from, boolean fromInclusive, double to, boolean toInclusive) {
+        int start = start(from, fromInclusive);
+        int end = end(to, toInclusive);
+        if (start >= end) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(modems, start, end)));
+    }
+
+    public int count(double min, double max) {
+        return count(min, true, max, true);
+    }
+
+    public int count(double from, boolean fromInclusive, double to, boolean toInclusive) {
+        return Math.max(0, end(to, toInclusive) - start(from, fromInclusive));
+    }
+
+    public boolean anyInRange(double min, double max) {
+        return count(min, max) > 0;
+    }
+
+    public List<Modem> withoutPrice() {
+        return withoutPrice;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Primeira posição com preço maior ou igual (ou estritamente maior) que
+     * {@code from}.
+     */
+    private int start(double from, boolean inclusive) {
+        if (Double.isNaN(from)) {
+            return prices.length;
+        }
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (inclusive ? prices[mid] < from : prices[mid] <= from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primeira posição com preço maior (ou maior ou igual) que {@code to}.
+     */
+    private int end(double to, boolean inclusive) {
+        if (Double.isNaN(to)) {
+            return 0;
+        }
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (inclusive ? prices[mid] <= to : prices[mid] < to) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,192 @@
+package com.barcellos.optional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * Encadeamento de Optionals: devolve o primeiro Optional não vazio de uma
+ * lista de fornecedores, na ordem de prioridade em que foram informados.
+ *
+ * A forma sequencial equivale a
+ * {@code Stream.of(suppliers).map(Supplier::get).filter(Optional::isPresent).findFirst()},
+ * sem criar o Stream. A forma concorrente executa todos os fornecedores ao
+ * mesmo tempo, o que vale a pena quando cada um é uma consulta lenta (cache,
+ * réplica, base de fallback).
+ */
+public final class Optionals {
+
+    private Optionals() {
+    }
+
+    @SafeVarargs
+    public static <T> Optional<T> firstPresent(Supplier<Optional<T>>... suppliers) {
+        for (Supplier<Optional<T>> supplier : suppliers) {
+            Optional<T> value = supplier.get();
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static <T> Optional<T> firstPresent(List<? extends Supplier<Optional<T>>> suppliers) {
+        for (int i = 0, n = suppliers.size(); i < n; i++) {
+            Optional<T> value = suppliers.get(i).get();
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Executa todos os fornecedores em paralelo no {@code executor}.
+     *
+     * O resultado é o mesmo da forma sequencial: o valor do fornecedor de maior
+     * prioridade que não devolveu vazio. Ele é entregue assim que todos os
+     * fornecedores de maior prioridade terminam vazios, sem esperar os de menor
+     * prioridade, que são cancelados (com interrupção) quando já não podem
+     * mudar o resultado. Se um fornecedor de maior prioridade lançar exceção, o
+     * futuro termina com essa exceção, como aconteceria na forma sequencial.
+     *
+     * Cancelar o futuro devolvido cancela todos os fornecedores ainda em
+     * execução.
+     */
+    public static <T> CompletableFuture<Optional<T>> firstPresentAsync(Executor executor,
+            List<? extends Supplier<Optional<T>>> suppliers) {
+        Objects.requireNonNull(executor, "executor");
+        return new Race<T>(suppliers).start(executor);
+    }
+
+    /**
+     * Versão bloqueante de {@link #firstPresentAsync(Executor, List)}.
+     *
+     * @throws java.util.concurrent.CompletionException se o fornecedor que
+     *                                                  decidiu o resultado
+     *                                                  lançou exceção
+     */
+    public static <T> Optional<T> firstPresentConcurrently(Executor executor,
+            List<? extends Supplier<Optional<T>>> suppliers) {
+        return firstPresentAsync(executor, suppliers).join();
+    }
+
+    private static final class Race<T> {
+
+        private final CompletableFuture<Optional<T>> result = new CompletableFuture<>();
+        private final List<FutureTask<Optional<T>>> tasks;
+
+        /**
+         * Índice do fornecedor de maior prioridade cujo resultado ainda não é
+         * conhecido.
+         */
+        private int next;
+
+        /**
+         * Fornecedores a partir deste índice já foram cancelados.
+         */
+        private int cancelledFrom;
+
+        Race(List<? extends Supplier<Optional<T>>> suppliers) {
+            this.tasks = new ArrayList<>(suppliers.size());
+            this.cancelledFrom = suppliers.size();
+            for (int i = 0; i < suppliers.size(); i++) {
+                Supplier<Optional<T>> supplier = Objects.requireNonNull(suppliers.get(i), "supplier");
+                tasks.add(new FutureTask<Optional<T>>(supplier::get) {
+                    @Override
+                    protected void done() {
+                        resolve();
+                    }
+                });
+            }
+        }
+
+        CompletableFuture<Optional<T>> start(Executor executor) {
+            result.whenComplete((value, error) -> cancelFrom(0));
+            if (tasks.isEmpty()) {
+                result.complete(Optional.empty());
+            }
+            for (FutureTask<Optional<T>> task : tasks) {
+                if (result.isDone()) {
+                    break;
+                }
+                executor.execute(task);
+            }
+            return result;
+        }
+
+        private synchronized void resolve() {
+            if (result.isDone()) {
+                return;
+            }
+
+            while (next < tasks.size() && tasks.get(next).isDone()) {
+                FutureTask<Optional<T>> task = tasks.get(next);
+                Optional<T> value;
+                try {
+                    value = task.get();
+                } catch (ExecutionException e) {
+                    result.completeExceptionally(e.getCause());
+                    return;
+                } catch (CancellationException | InterruptedException e) {
+                    result.cancel(false);
+                    return;
+                }
+
+                if (value == null) {
+                    result.completeExceptionally(new NullPointerException("supplier returned null"));
+                    return;
+                }
+                if (value.isPresent()) {
+                    result.complete(value);
+                    return;
+                }
+                next++;
+            }
+
+            if (next == tasks.size()) {
+                result.complete(Optional.empty());
+                return;
+            }
+
+            // Um fornecedor de menor prioridade que já encontrou valor torna
+            // inúteis todos os que vêm depois dele.
+            for (int i = next + 1; i < tasks.size(); i++) {
+                if (isPresent(tasks.get(i))) {
+                    cancelFrom(i + 1);
+                    return;
+                }
+            }
+        }
+
+        private boolean isPresent(FutureTask<Optional<T>> task) {
+            if (!task.isDone() || task.isCancelled()) {
+                return false;
+            }
+            try {
+                Optional<T> value = task.get();
+                return value != null && value.isPresent();
+            } catch (ExecutionException | InterruptedException e) {
+                return false;
+            }
+        }
+
+        private synchronized void cancelFrom(int from) {
+            if (from >= cancelledFrom) {
+                return;
+            }
+            int to = cancelledFrom;
+            cancelledFrom = from;
+            for (int i = from; i < to; i++) {
+                tasks.get(i).cancel(true);
+            }
+        }
+    }
+}
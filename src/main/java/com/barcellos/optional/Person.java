@@ -19,8 +19,32 @@ public class Person {
         return Optional.ofNullable(password);
     }
 
+    /**
+     * Idade como primitivo, sem boxing nem Optional (a idade nunca está ausente).
+     */
+    public int getAgeAsInt() {
+        return age;
+    }
+
+    /**
+     * Equivalente a {@code getName().filter(name::equals).isPresent()}, sem
+     * alocar o Optional.
+     */
+    public boolean hasName(String name) {
+        return this.name != null && this.name.equals(name);
+    }
+
+    public boolean hasPassword() {
+        return password != null;
+    }
+
     public Person(String name, int age) {
         this.name = name;
         this.age = age;
     }
-}
\ No newline at end of file
+
+    public Person(String name, int age, String password) {
+        this(name, age);
+        this.password = password;
+    }
+}
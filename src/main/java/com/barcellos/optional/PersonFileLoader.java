@@ -0,0 +1,287 @@
+package com.barcellos.optional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lê arquivos de pessoas mapeando-os em memória (NIO), sem carregar o arquivo
+ * no heap.
+ *
+ * Formato: um registro por linha, em UTF-8, com os campos
+ * {@code nome,idade,senha}. Nome e senha vazios representam valores ausentes
+ * e a senha pode ser omitida junto com a última vírgula. Linhas vazias são
+ * ignoradas e {@code \r\n} é aceito. Os campos não podem conter vírgula nem
+ * quebra de linha.
+ *
+ * O arquivo é lido em janelas mapeadas de tamanho fixo, por isso o consumo de
+ * heap não depende do tamanho do arquivo. O spliterator se divide em limites
+ * de registro, o que permite ler em paralelo com {@code parallel()}. O stream
+ * devolvido deve ser fechado (try-with-resources) para liberar o arquivo.
+ */
+public class PersonFileLoader {
+
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final int MIN_SPLIT_SIZE = 64 * 1024;
+
+    private PersonFileLoader() {
+    }
+
+    public static Stream<Person> stream(Path path) throws IOException {
+        return stream(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize tamanho de cada janela mapeada; deve ser maior que o
+     *                   maior registro do arquivo
+     */
+    public static Stream<Person> stream(Path path, int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize: " + windowSize);
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            RecordSpliterator spliterator = new RecordSpliterator(channel, 0, channel.size(), windowSize);
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Percorre os registros entre {@code position} e {@code end}; ambos estão
+     * sempre no início de um registro.
+     */
+    private static final class RecordSpliterator implements Spliterator<Person> {
+
+        private final FileChannel channel;
+        private final int windowSize;
+        private long position;
+        private final long end;
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long recordStart;
+        private byte[] scratch = new byte[64];
+
+        RecordSpliterator(FileChannel channel, long position, long end, int windowSize) {
+            this.channel = channel;
+            this.position = position;
+            this.end = end;
+            this.windowSize = windowSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Person> action) {
+            while (position < end) {
+                Person person = next();
+                if (person != null) {
+                    action.accept(person);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<Person> trySplit() {
+            long remaining = end - position;
+            if (remaining < 2L * MIN_SPLIT_SIZE) {
+                return null;
+            }
+
+            long split = nextRecordStart(position + remaining / 2);
+            if (split <= position || split >= end) {
+                return null;
+            }
+
+            RecordSpliterator prefix = new RecordSpliterator(channel, position, split, windowSize);
+            position = split;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+
+        /**
+         * Lê o registro em {@code position}; devolve {@code null} para linhas
+         * vazias.
+         */
+        private Person next() {
+            recordStart = position;
+            int lineStart = windowOffset();
+            int lineEnd = indexOf('\n', lineStart, window.limit());
+
+            if (lineEnd < 0 && windowStart + window.limit() < end) {
+                // O registro continua depois da janela: remapeia a partir dele.
+                if (lineStart == 0) {
+                    throw malformed("record longer than window size " + windowSize);
+                }
+                map(position);
+                lineStart = 0;
+                lineEnd = indexOf('\n', 0, window.limit());
+                if (lineEnd < 0 && windowStart + window.limit() < end) {
+                    throw malformed("record longer than window size " + windowSize);
+                }
+            }
+
+            if (lineEnd < 0) {
+                lineEnd = window.limit();
+                position = windowStart + lineEnd;
+            } else {
+                position = windowStart + lineEnd + 1;
+            }
+
+            if (lineEnd > lineStart && window.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd == lineStart) {
+                return null;
+            }
+            return parse(lineStart, lineEnd);
+        }
+
+        private Person parse(int start, int end) {
+            int firstComma = indexOf(',', start, end);
+            if (firstComma < 0) {
+                throw malformed("missing age");
+            }
+            int secondComma = indexOf(',', firstComma + 1, end);
+            int ageEnd = secondComma < 0 ? end : secondComma;
+
+            String name = string(start, firstComma);
+            int age = parseAge(firstComma + 1, ageEnd);
+            String password = secondComma < 0 ? null : string(secondComma + 1, end);
+            return new Person(name, age, password);
+        }
+
+        private int parseAge(int start, int end) {
+            if (start == end) {
+                throw malformed("missing age");
+            }
+            boolean negative = window.get(start) == '-';
+            int i = negative ? start + 1 : start;
+            if (i == end) {
+                throw malformed("invalid age");
+            }
+
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = window.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw malformed("invalid age");
+                }
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw malformed("age out of range");
+                }
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw malformed("age out of range");
+            }
+            return (int) value;
+        }
+
+        private String string(int start, int end) {
+            int length = end - start;
+            if (length == 0) {
+                return null;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                scratch[i] = window.get(start + i);
+            }
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private int indexOf(char c, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (window.get(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Deslocamento de {@code position} dentro da janela mapeada, mapeando uma
+         * nova janela a partir dele quando necessário.
+         */
+        private int windowOffset() {
+            if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+                map(position);
+            }
+            return (int) (position - windowStart);
+        }
+
+        private void map(long from) {
+            long size = Math.min(windowSize, end - from);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, from, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            windowStart = from;
+        }
+
+        /**
+         * Primeiro início de registro depois de {@code from}, lendo o arquivo em
+         * pequenos blocos.
+         */
+        private long nextRecordStart(long from) {
+            ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+            long offset = from;
+            try {
+                while (offset < end) {
+                    buffer.clear();
+                    int read = channel.read(buffer, offset);
+                    if (read <= 0) {
+                        return end;
+                    }
+                    for (int i = 0; i < read; i++) {
+                        if (buffer.get(i) == '\n') {
+                            return offset + i + 1;
+                        }
+                    }
+                    offset += read;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return end;
+        }
+
+        private UncheckedIOException malformed(String reason) {
+            return new UncheckedIOException(
+                    new IOException("Malformed person record at byte " + recordStart + ": " + reason));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.barcellos.optional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Índice imutável de pessoas por nome e idade.
+ *
+ * Mantém um índice hash por nome e, para cada nome, as idades ordenadas. Uma
+ * busca por nome e idade mínima custa O(log n + k), em vez de percorrer toda a
+ * lista, e devolve as pessoas na mesma ordem da coleção de origem.
+ */
+public class PersonIndex {
+
+    private final Map<String, Bucket> byName;
+    private final int size;
+
+    public PersonIndex(Collection<Person> people) {
+        Objects.requireNonNull(people, "people");
+
+        Map<String, List<Entry>> grouped = new HashMap<>();
+        int position = 0;
+        for (Person person : people) {
+            String name = person.getName().orElse(null);
+            if (name != null) {
+                grouped.computeIfAbsent(name, k -> new ArrayList<>())
+                        .add(new Entry(person, person.getAgeAsInt(), position));
+            }
+            position++;
+        }
+
+        this.byName = new HashMap<>(grouped.size() * 4 / 3 + 1);
+        grouped.forEach((name, entries) -> byName.put(name, new Bucket(entries)));
+        this.size = position;
+    }
+
+    public List<Person> search(String name) {
+        return search(name, 0);
+    }
+
+    public List<Person> search(String name, int age) {
+        Bucket bucket = byName.get(name);
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        return bucket.atLeast(age);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static final class Entry {
+        final Person person;
+        final int age;
+        final int position;
+
+        Entry(Person person, int age, int position) {
+            this.person = person;
+            this.age = age;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Pessoas com o mesmo nome, ordenadas por idade e, em caso de empate, pela
+     * posição original.
+     */
+    private static final class Bucket {
+        private final int[] ages;
+        private final int[] positions;
+        private final Person[] people;
+
+        Bucket(List<Entry> entries) {
+            entries.sort(Comparator.<Entry>comparingInt(e -> e.age).thenComparingInt(e -> e.position));
+
+            int n = entries.size();
+            this.ages = new int[n];
+            this.positions = new int[n];
+            this.people = new Person[n];
+            for (int i = 0; i < n; i++) {
+                Entry entry = entries.get(i);
+                ages[i] = entry.age;
+                positions[i] = entry.position;
+                people[i] = entry.person;
+            }
+        }
+
+        List<Person> atLeast(int age) {
+            int from = lowerBound(age);
+            int k = ages.length - from;
+            if (k == 0) {
+                return Collections.emptyList();
+            }
+
+            // Restaura a ordem da coleção de origem: ordena pares (posição, índice)
+            // compactados em um long para não alocar objetos por resultado.
+            long[] order = new long[k];
+            for (int i = 0; i < k; i++) {
+                order[i] = ((long) positions[from + i] << 32) | (from + i);
+            }
+            Arrays.sort(order);
+
+            List<Person> result = new ArrayList<>(k);
+            for (long packed : order) {
+                result.add(people[(int) packed]);
+            }
+            return result;
+        }
+
+        private int lowerBound(int age) {
+            int low = 0;
+            int high = ages.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ages[mid] < age) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.barcellos.optional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de pessoas que decide entre stream sequencial e paralelo.
+ *
+ * Para listas pequenas o custo de dividir o trabalho no fork/join pool supera
+ * o ganho, então abaixo de {@link #getParallelThreshold()} elementos (ou sem
+ * mais de um núcleo disponível) a busca é sequencial, como no
+ * {@code OptionalTest.doSearch}.
+ *
+ * Com {@code ordered = true} o resultado é idêntico ao da busca sequencial,
+ * elemento a elemento. Com {@code ordered = false} o stream é marcado como
+ * não ordenado, o que dispensa o custo de preservar a ordem de encontro.
+ */
+public class PersonSearch {
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private final int parallelThreshold;
+
+    public PersonSearch() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * @param parallelThreshold tamanho mínimo da lista para usar o stream
+     *                          paralelo; quanto mais caro o filtro por elemento,
+     *                          menor pode ser este valor
+     */
+    public PersonSearch(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("parallelThreshold: " + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public List<Person> search(List<Person> people, String name, int age) {
+        return search(people, name, age, true);
+    }
+
+    public List<Person> search(List<Person> people, String name, int age, boolean ordered) {
+        return filter(people, p -> p.hasName(name) && p.getAgeAsInt() >= age, ordered);
+    }
+
+    public List<Person> filter(List<Person> people, Predicate<Person> predicate, boolean ordered) {
+        Objects.requireNonNull(people, "people");
+        Objects.requireNonNull(predicate, "predicate");
+
+        if (!isParallel(people.size())) {
+            return people.stream()
+                    .filter(predicate)
+                    .collect(Collectors.toList());
+        }
+
+        Stream<Person> stream = splittable(people).parallel();
+        if (!ordered) {
+            stream = stream.unordered();
+        }
+        return stream.filter(predicate).collect(Collectors.toList());
+    }
+
+    boolean isParallel(int size) {
+        return size >= parallelThreshold && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Listas sem acesso indexado (como {@code LinkedList}) dividem mal; nesse
+     * caso os elementos são copiados para um array antes.
+     */
+    private static Stream<Person> splittable(List<Person> people) {
+        if (people instanceof RandomAccess) {
+            return people.stream();
+        }
+        return Arrays.stream(people.toArray(new Person[0]));
+    }
+}
@@ -0,0 +1,222 @@
+package com.barcellos.optional;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+/**
+ * Tabela colunar (struct-of-arrays) de pessoas.
+ *
+ * Cada atributo de {@link Person} vira uma coluna: as idades ficam em um
+ * {@code int[]}, os nomes são codificados em um dicionário e guardados como
+ * ids, e a ausência de senha é marcada em um bitmap. As varreduras trabalham
+ * sobre arrays primitivos e devolvem os números das linhas encontradas, sem
+ * criar objetos por linha.
+ *
+ * Os getters por linha seguem a mesma semântica dos getters de {@link Person}.
+ */
+public class PersonTable {
+
+    private static final int NO_NAME = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] ages;
+    private int[] nameIds;
+    private String[] passwords;
+    private long[] passwordBitmap;
+    private int size;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private String[] names = new String[DEFAULT_CAPACITY];
+
+    public PersonTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PersonTable(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        this.ages = new int[capacity];
+        this.nameIds = new int[capacity];
+        this.passwords = new String[capacity];
+        this.passwordBitmap = new long[words(capacity)];
+    }
+
+    public static PersonTable of(Iterable<Person> people) {
+        PersonTable table = new PersonTable();
+        for (Person person : people) {
+            table.add(person);
+        }
+        return table;
+    }
+
+    public int add(Person person) {
+        return add(person.getName().orElse(null), person.getAgeAsInt(), person.getPassword().orElse(null));
+    }
+
+    public int add(String name, int age, String password) {
+        ensureCapacity(size + 1);
+
+        int row = size++;
+        ages[row] = age;
+        nameIds[row] = encode(name);
+        if (password != null) {
+            passwords[row] = password;
+            passwordBitmap[row >>> 6] |= 1L << row;
+        }
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Optional<String> getName(int row) {
+        checkRow(row);
+        int id = nameIds[row];
+        return id == NO_NAME ? Optional.empty() : Optional.of(names[id]);
+    }
+
+    public Optional<Integer> getAge(int row) {
+        return Optional.of(ageAt(row));
+    }
+
+    public Optional<String> getPassword(int row) {
+        checkRow(row);
+        return Optional.ofNullable(passwords[row]);
+    }
+
+    public int ageAt(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public boolean hasPassword(int row) {
+        checkRow(row);
+        return (passwordBitmap[row >>> 6] & (1L << row)) != 0;
+    }
+
+    public Person toPerson(int row) {
+        return new Person(getName(row).orElse(null), ageAt(row), passwords[row]);
+    }
+
+    /**
+     * Linhas com o nome informado e idade maior ou igual a {@code age}, na ordem
+     * de inserção.
+     */
+    public int[] filterByName(String name, int age) {
+        Integer id = dictionary.get(name);
+        if (id == null) {
+            return new int[0];
+        }
+
+        int target = id;
+        int[] rows = new int[DEFAULT_CAPACITY];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (nameIds[row] == target && ages[row] >= age) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    public int[] filterByAge(int minAge, int maxAge) {
+        return filter(row -> ages[row] >= minAge && ages[row] <= maxAge);
+    }
+
+    public int countByAge(int minAge, int maxAge) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int age = ages[row];
+            if (age >= minAge && age <= maxAge) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int countWithPassword() {
+        int count = 0;
+        for (int i = 0, n = words(size); i < n; i++) {
+            count += Long.bitCount(passwordBitmap[i]);
+        }
+        return count;
+    }
+
+    public int[] filterWithoutPassword() {
+        return filter(row -> (passwordBitmap[row >>> 6] & (1L << row)) == 0);
+    }
+
+    /**
+     * Varre todas as linhas e devolve as que satisfazem o predicado.
+     */
+    public int[] filter(IntPredicate predicate) {
+        int[] rows = new int[DEFAULT_CAPACITY];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(row)) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    public long sumOfAges() {
+        long sum = 0;
+        for (int row = 0; row < size; row++) {
+            sum += ages[row];
+        }
+        return sum;
+    }
+
+    private int encode(String name) {
+        if (name == null) {
+            return NO_NAME;
+        }
+
+        Integer id = dictionary.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        int next = dictionary.size();
+        if (next == names.length) {
+            names = Arrays.copyOf(names, next * 2);
+        }
+        names[next] = name;
+        dictionary.put(name, next);
+        return next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ages.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, ages.length + (ages.length >> 1)));
+        ages = Arrays.copyOf(ages, newCapacity);
+        nameIds = Arrays.copyOf(nameIds, newCapacity);
+        passwords = Arrays.copyOf(passwords, newCapacity);
+        passwordBitmap = Arrays.copyOf(passwordBitmap, words(newCapacity));
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row: " + row + ", size: " + size);
+        }
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
@@ -0,0 +1,328 @@
+package com.barcellos.optional;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Formato binário versionado para snapshots de {@link Person} e
+ * {@link Modem}, sem reflexão.
+ *
+ * Layout (inteiros em varint, {@code double} em big-endian):
+ *
+ * <pre>
+ * cabeçalho : magic "BSNP" | versão (1 byte) | tipo (1 byte) | quantidade
+ * Person    : tabela de strings (quantidade, e para cada uma: tamanho + UTF-8)
+ *             bitmap de presença, 2 bits por registro (nome, senha)
+ *             registros: [id do nome] idade (zigzag) [id da senha]
+ * Modem     : bitmap de presença, 1 bit por registro (preço)
+ *             preços presentes, 8 bytes cada
+ * </pre>
+ *
+ * Nomes e senhas repetidos são gravados uma única vez na tabela de strings e
+ * compartilhados na leitura. A gravação percorre a coleção mais de uma vez e
+ * usa um buffer fixo, sem montar o arquivo inteiro em memória; a leitura
+ * trabalha direto sobre um {@link ByteBuffer}, que pode ser um arquivo mapeado.
+ */
+public final class SnapshotCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x42534E50; // "BSNP"
+    private static final byte PERSON = 1;
+    private static final byte MODEM = 2;
+
+    private static final int NAME_PRESENT = 1;
+    private static final int PASSWORD_PRESENT = 2;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private SnapshotCodec() {
+    }
+
+    public static void writePeople(Path path, Collection<Person> people) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writePeople(channel, people);
+        }
+    }
+
+    public static void writePeople(WritableByteChannel channel, Collection<Person> people) throws IOException {
+        Output out = new Output(channel);
+        out.header(PERSON, people.size());
+
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Person person : people) {
+            Objects.requireNonNull(person, "person");
+            intern(person.getName().orElse(null), ids, strings);
+            intern(person.getPassword().orElse(null), ids, strings);
+        }
+        out.putVarint(strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.putVarint(bytes.length);
+            out.putBytes(bytes);
+        }
+
+        int bits = 0;
+        int filled = 0;
+        for (Person person : people) {
+            int flags = (person.getName().isPresent() ? NAME_PRESENT : 0)
+                    | (person.hasPassword() ? PASSWORD_PRESENT : 0);
+            bits |= flags << filled;
+            filled += 2;
+            if (filled == 8) {
+                out.putByte(bits);
+                bits = 0;
+                filled = 0;
+            }
+        }
+        if (filled > 0) {
+            out.putByte(bits);
+        }
+
+        for (Person person : people) {
+            String name = person.getName().orElse(null);
+            if (name != null) {
+                out.putVarint(ids.get(name));
+            }
+            out.putVarint(zigzag(person.getAgeAsInt()));
+            if (person.hasPassword()) {
+                out.putVarint(ids.get(person.getPassword().get()));
+            }
+        }
+        out.flush();
+    }
+
+    public static List<Person> readPeople(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readPeople(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static List<Person> readPeople(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            int count = header(in, PERSON);
+            if (count > in.remaining()) {
+                throw new IOException("Truncated or corrupt snapshot");
+            }
+
+            String[] strings = new String[getVarint(in)];
+            byte[] scratch = new byte[64];
+            for (int i = 0; i < strings.length; i++) {
+                int length = getVarint(in);
+                if (scratch.length < length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                in.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+
+            int bitmapStart = in.position();
+            in.position(bitmapStart + (count + 3) / 4);
+
+            List<Person> people = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int flags = (in.get(bitmapStart + i / 4) >>> ((i % 4) * 2)) & 3;
+                String name = (flags & NAME_PRESENT) != 0 ? string(strings, getVarint(in)) : null;
+                int age = unzigzag(getVarint(in));
+                String password = (flags & PASSWORD_PRESENT) != 0 ? string(strings, getVarint(in)) : null;
+                people.add(new Person(name, age, password));
+            }
+            return people;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupt snapshot", e);
+        }
+    }
+
+    public static void writeModems(Path path, Collection<Modem> modems) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeModems(channel, modems);
+        }
+    }
+
+    public static void writeModems(WritableByteChannel channel, Collection<Modem> modems) throws IOException {
+        Output out = new Output(channel);
+        out.header(MODEM, modems.size());
+
+        int bits = 0;
+        int filled = 0;
+        for (Modem modem : modems) {
+            Objects.requireNonNull(modem, "modem");
+            bits |= (modem.hasPrice() ? 1 : 0) << filled;
+            if (++filled == 8) {
+                out.putByte(bits);
+                bits = 0;
+                filled = 0;
+            }
+        }
+        if (filled > 0) {
+            out.putByte(bits);
+        }
+
+        for (Modem modem : modems) {
+            if (modem.hasPrice()) {
+                out.putDouble(modem.getPriceAsDouble());
+            }
+        }
+        out.flush();
+    }
+
+    public static List<Modem> readModems(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readModems(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static List<Modem> readModems(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            int count = header(in, MODEM);
+            if ((count + 7L) / 8 > in.remaining()) {
+                throw new IOException("Truncated or corrupt snapshot");
+            }
+
+            int bitmapStart = in.position();
+            in.position(bitmapStart + (count + 7) / 8);
+
+            List<Modem> modems = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                boolean hasPrice = ((in.get(bitmapStart + i / 8) >>> (i % 8)) & 1) != 0;
+                modems.add(new Modem(hasPrice ? in.getDouble() : null));
+            }
+            return modems;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupt snapshot", e);
+        }
+    }
+
+    private static void intern(String value, Map<String, Integer> ids, List<String> strings) {
+        if (value != null && !ids.containsKey(value)) {
+            ids.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+
+    private static int header(ByteBuffer in, byte type) throws IOException {
+        if (in.remaining() < 6 || in.getInt() != MAGIC) {
+            throw new IOException("Not a snapshot file");
+        }
+        int version = in.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        byte actual = in.get();
+        if (actual != type) {
+            throw new IOException("Unexpected record type: " + actual);
+        }
+        return getVarint(in);
+    }
+
+    private static String string(String[] strings, int id) throws IOException {
+        if (id < 0 || id >= strings.length) {
+            throw new IOException("Invalid string id: " + id);
+        }
+        return strings[id];
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int getVarint(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Buffer de escrita de tamanho fixo, descarregado no canal quando enche.
+     */
+    private static final class Output {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.BIG_ENDIAN);
+
+        Output(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void header(byte type, int count) throws IOException {
+            ensure(6);
+            buffer.putInt(MAGIC);
+            buffer.put((byte) VERSION);
+            buffer.put(type);
+            putVarint(count);
+        }
+
+        void putByte(int value) throws IOException {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        void putVarint(int value) throws IOException {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
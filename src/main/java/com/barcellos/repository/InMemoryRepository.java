@@ -0,0 +1,371 @@
+package com.barcellos.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import com.barcellos.collections.CompactLinkedHashMap;
+import com.barcellos.collections.CompactLinkedHashSet;
+
+/**
+ * Repositório em memória e thread-safe com as operações da
+ * {@code JpaRepository} do Spring Data descritas em {@code jpa-spring.md}
+ * ({@code findAll}, {@code findAllById}, {@code saveAll},
+ * {@code saveAllAndFlush}, {@code deleteAllInBatch},
+ * {@code deleteAllByIdInBatch}), para substituir a camada de persistência em
+ * testes de carga.
+ *
+ * As entidades ficam divididas em faixas, cada uma com um mapa de id para
+ * entidade e um {@link ReentrantReadWriteLock}. Uma operação em lote calcula a
+ * faixa de cada item, agrupa os itens por faixa com uma ordenação por
+ * contagem e trava de uma vez só as faixas envolvidas, sempre em ordem
+ * crescente, para não haver deadlock. O custo é O(lote + faixas) e o lote é
+ * atômico: quem lê as mesmas faixas vê o lote inteiro ou nada dele.
+ *
+ * O id é extraído da entidade por uma função. Entidades e ids nulos são
+ * rejeitados com {@link IllegalArgumentException}, como no Spring Data, e
+ * {@code flush} não faz nada: as escritas ficam visíveis assim que a operação
+ * termina.
+ */
+public class InMemoryRepository<T, ID> {
+
+    public static final int DEFAULT_STRIPES = 16;
+
+    private static final int MAX_STRIPES = Long.SIZE;
+
+    private final Function<? super T, ? extends ID> idOf;
+    private final Stripe<T>[] stripes;
+    private final long allStripes;
+
+    public InMemoryRepository(Function<? super T, ? extends ID> idOf) {
+        this(idOf, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes número de faixas, potência de 2 entre 1 e 64
+     */
+    @SuppressWarnings("unchecked")
+    public InMemoryRepository(Function<? super T, ? extends ID> idOf, int stripes) {
+        if (idOf == null) {
+            throw new IllegalArgumentException("idOf must not be null");
+        }
+        if (stripes < 1 || stripes > MAX_STRIPES || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes: " + stripes);
+        }
+        this.idOf = idOf;
+        this.stripes = (Stripe<T>[]) new Stripe<?>[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+        this.allStripes = stripes == MAX_STRIPES ? -1L : (1L << stripes) - 1;
+    }
+
+    // Consultas
+
+    public long count() {
+        lock(allStripes, false);
+        try {
+            long count = 0;
+            for (Stripe<T> stripe : stripes) {
+                count += stripe.entities.size();
+            }
+            return count;
+        } finally {
+            unlock(allStripes, false);
+        }
+    }
+
+    public boolean existsById(ID id) {
+        return findById(id).isPresent();
+    }
+
+    public Optional<T> findById(ID id) {
+        Stripe<T> stripe = stripes[stripeFor(requireId(id))];
+        stripe.lock.readLock().lock();
+        try {
+            return Optional.ofNullable(stripe.entities.get(id));
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Todas as entidades, agrupadas por faixa e, dentro de cada faixa, na
+     * ordem de inserção.
+     */
+    public List<T> findAll() {
+        lock(allStripes, false);
+        try {
+            int size = 0;
+            for (Stripe<T> stripe : stripes) {
+                size += stripe.entities.size();
+            }
+            List<T> result = new ArrayList<>(size);
+            for (Stripe<T> stripe : stripes) {
+                result.addAll(stripe.entities.values());
+            }
+            return result;
+        } finally {
+            unlock(allStripes, false);
+        }
+    }
+
+    /**
+     * Busca em lote: cada faixa envolvida é travada uma única vez e consultada
+     * com todos os seus ids em sequência. Devolve as entidades encontradas na
+     * ordem dos ids, sem repetir ids duplicados; ids ausentes são ignorados.
+     */
+    public List<T> findAllById(Iterable<ID> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        CompactLinkedHashSet<Object> distinct = new CompactLinkedHashSet<>(sizeHint(ids));
+        for (ID id : ids) {
+            distinct.add(requireId(id));
+        }
+        Batch batch = new Batch(distinct.toArray());
+
+        Object[] found = new Object[batch.size()];
+        lock(batch.stripes, false);
+        try {
+            for (int i : batch.order) {
+                found[i] = stripes[batch.stripeOf[i]].entities.get(batch.ids[i]);
+            }
+        } finally {
+            unlock(batch.stripes, false);
+        }
+
+        List<T> result = new ArrayList<>(found.length);
+        for (Object entity : found) {
+            if (entity != null) {
+                result.add(cast(entity));
+            }
+        }
+        return result;
+    }
+
+    // Escrita
+
+    public <S extends T> S save(S entity) {
+        Object id = idOf(entity);
+        Stripe<T> stripe = stripes[stripeFor(id)];
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.entities.put(id, entity);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        return entity;
+    }
+
+    /**
+     * Grava o lote de uma vez, sob as travas de escrita de todas as faixas
+     * envolvidas. Com ids repetidos, vale a última entidade, como em gravações
+     * sucessivas. Nada é gravado se alguma entidade ou id for nulo.
+     */
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("entities must not be null");
+        }
+        List<S> saved = new ArrayList<>(sizeHint(entities));
+        List<Object> ids = new ArrayList<>(sizeHint(entities));
+        for (S entity : entities) {
+            ids.add(idOf(entity));
+            saved.add(entity);
+        }
+        Batch batch = new Batch(ids.toArray());
+
+        lock(batch.stripes, true);
+        try {
+            for (int i : batch.order) {
+                stripes[batch.stripeOf[i]].entities.put(batch.ids[i], saved.get(i));
+            }
+        } finally {
+            unlock(batch.stripes, true);
+        }
+        return saved;
+    }
+
+    public void flush() {
+        // As escritas já são visíveis; não há nada pendente.
+    }
+
+    public <S extends T> S saveAndFlush(S entity) {
+        S saved = save(entity);
+        flush();
+        return saved;
+    }
+
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+        List<S> saved = saveAll(entities);
+        flush();
+        return saved;
+    }
+
+    public void deleteById(ID id) {
+        remove(requireId(id));
+    }
+
+    public void delete(T entity) {
+        remove(idOf(entity));
+    }
+
+    /**
+     * Remove as entidades pelo id, em lote. Como na JPA, basta o id coincidir;
+     * a instância guardada pode ser outra.
+     */
+    public void deleteAllInBatch(Iterable<T> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("entities must not be null");
+        }
+        List<Object> ids = new ArrayList<>(sizeHint(entities));
+        for (T entity : entities) {
+            ids.add(idOf(entity));
+        }
+        removeAll(new Batch(ids.toArray()));
+    }
+
+    public void deleteAllByIdInBatch(Iterable<ID> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<Object> list = new ArrayList<>(sizeHint(ids));
+        for (ID id : ids) {
+            list.add(requireId(id));
+        }
+        removeAll(new Batch(list.toArray()));
+    }
+
+    public void deleteAllInBatch() {
+        lock(allStripes, true);
+        try {
+            for (Stripe<T> stripe : stripes) {
+                stripe.entities.clear();
+            }
+        } finally {
+            unlock(allStripes, true);
+        }
+    }
+
+    private void remove(Object id) {
+        Stripe<T> stripe = stripes[stripeFor(id)];
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.entities.remove(id);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private void removeAll(Batch batch) {
+        lock(batch.stripes, true);
+        try {
+            for (int i : batch.order) {
+                stripes[batch.stripeOf[i]].entities.remove(batch.ids[i]);
+            }
+        } finally {
+            unlock(batch.stripes, true);
+        }
+    }
+
+    // Faixas e travas
+
+    private int stripeFor(Object id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    /**
+     * Trava as faixas marcadas em {@code mask}, em ordem crescente.
+     */
+    private void lock(long mask, boolean write) {
+        for (long m = mask; m != 0; m &= m - 1) {
+            lockOf(Long.numberOfTrailingZeros(m), write).lock();
+        }
+    }
+
+    private void unlock(long mask, boolean write) {
+        for (long m = mask; m != 0; m &= m - 1) {
+            lockOf(Long.numberOfTrailingZeros(m), write).unlock();
+        }
+    }
+
+    private Lock lockOf(int stripe, boolean write) {
+        ReentrantReadWriteLock lock = stripes[stripe].lock;
+        return write ? lock.writeLock() : lock.readLock();
+    }
+
+    private Object idOf(T entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Entity must not be null");
+        }
+        ID id = idOf.apply(entity);
+        if (id == null) {
+            throw new IllegalArgumentException("Entity id must not be null");
+        }
+        return id;
+    }
+
+    private static int sizeHint(Iterable<?> items) {
+        return items instanceof Collection ? ((Collection<?>) items).size() : 0;
+    }
+
+    private static Object requireId(Object id) {
+        if (id == null) {
+            throw new IllegalArgumentException("The given id must not be null");
+        }
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T cast(Object entity) {
+        return (T) entity;
+    }
+
+    private static final class Stripe<T> {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final CompactLinkedHashMap<Object, T> entities = new CompactLinkedHashMap<>();
+    }
+
+    /**
+     * Ids de um lote com a faixa de cada um e a ordem de visita agrupada por
+     * faixa (ordenação por contagem estável, que preserva a ordem original
+     * dentro de cada faixa).
+     */
+    private final class Batch {
+        final Object[] ids;
+        final int[] stripeOf;
+        final int[] order;
+        final long stripes;
+
+        Batch(Object[] ids) {
+            int n = ids.length;
+            int[] starts = new int[InMemoryRepository.this.stripes.length + 1];
+            long mask = 0;
+            this.ids = ids;
+            this.stripeOf = new int[n];
+            for (int i = 0; i < n; i++) {
+                int stripe = stripeFor(ids[i]);
+                stripeOf[i] = stripe;
+                starts[stripe + 1]++;
+                mask |= 1L << stripe;
+            }
+            for (int s = 1; s < starts.length; s++) {
+                starts[s] += starts[s - 1];
+            }
+            this.order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[starts[stripeOf[i]]++] = i;
+            }
+            this.stripes = mask;
+        }
+
+        int size() {
+            return ids.length;
+        }
+    }
+}
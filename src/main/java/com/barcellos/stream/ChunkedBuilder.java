@@ -0,0 +1,493 @@
+package com.barcellos.stream;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Stream.Builder} que guarda os elementos em blocos, com uma
+ * estimativa inicial de capacidade.
+ *
+ * O primeiro bloco tem o tamanho informado; quando ele enche, um novo bloco
+ * do tamanho de tudo o que já foi adicionado é alocado, sem copiar os
+ * anteriores. Com uma estimativa correta há um único bloco e nenhuma
+ * realocação. O stream produzido por {@link #build()} é {@code SIZED} e
+ * {@code SUBSIZED} e se divide ao meio pelo índice, independente dos limites
+ * dos blocos.
+ *
+ * <pre>
+ * ChunkedBuilder&lt;String&gt; builder = new ChunkedBuilder&lt;&gt;(3);
+ * Stream&lt;String&gt; stream = builder.add("a").add("b").add("c").build();
+ * </pre>
+ *
+ * {@link OfInt}, {@link OfLong} e {@link OfDouble} fazem o mesmo com arrays
+ * primitivos. Como nos builders do JDK, depois de {@code build()} não é
+ * possível adicionar elementos.
+ */
+public final class ChunkedBuilder<T> implements Stream.Builder<T> {
+
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    private final Chunks chunks;
+
+    public ChunkedBuilder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize estimativa da quantidade de elementos
+     */
+    public ChunkedBuilder(int expectedSize) {
+        this.chunks = new Chunks(expectedSize) {
+            @Override
+            Object newChunk(int size) {
+                return new Object[size];
+            }
+        };
+    }
+
+    @Override
+    public void accept(T value) {
+        int slot = chunks.slot();
+        ((Object[]) chunks.current)[slot] = value;
+    }
+
+    @Override
+    public ChunkedBuilder<T> add(T value) {
+        accept(value);
+        return this;
+    }
+
+    public long size() {
+        return chunks.count;
+    }
+
+    @Override
+    public Stream<T> build() {
+        chunks.seal();
+        return StreamSupport.stream(new RefSpliterator<T>(chunks.data, chunks.offsets, 0, chunks.count), false);
+    }
+
+    public static final class OfInt implements IntStream.Builder {
+
+        private final Chunks chunks;
+
+        public OfInt() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        public OfInt(int expectedSize) {
+            this.chunks = new Chunks(expectedSize) {
+                @Override
+                Object newChunk(int size) {
+                    return new int[size];
+                }
+            };
+        }
+
+        @Override
+        public void accept(int value) {
+            int slot = chunks.slot();
+            ((int[]) chunks.current)[slot] = value;
+        }
+
+        @Override
+        public OfInt add(int value) {
+            accept(value);
+            return this;
+        }
+
+        public long size() {
+            return chunks.count;
+        }
+
+        @Override
+        public IntStream build() {
+            chunks.seal();
+            return StreamSupport.intStream(new IntSpliterator(chunks.data, chunks.offsets, 0, chunks.count), false);
+        }
+    }
+
+    public static final class OfLong implements LongStream.Builder {
+
+        private final Chunks chunks;
+
+        public OfLong() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        public OfLong(int expectedSize) {
+            this.chunks = new Chunks(expectedSize) {
+                @Override
+                Object newChunk(int size) {
+                    return new long[size];
+                }
+            };
+        }
+
+        @Override
+        public void accept(long value) {
+            int slot = chunks.slot();
+            ((long[]) chunks.current)[slot] = value;
+        }
+
+        @Override
+        public OfLong add(long value) {
+            accept(value);
+            return this;
+        }
+
+        public long size() {
+            return chunks.count;
+        }
+
+        @Override
+        public LongStream build() {
+            chunks.seal();
+            return StreamSupport.longStream(new LongSpliterator(chunks.data, chunks.offsets, 0, chunks.count), false);
+        }
+    }
+
+    public static final class OfDouble implements DoubleStream.Builder {
+
+        private final Chunks chunks;
+
+        public OfDouble() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        public OfDouble(int expectedSize) {
+            this.chunks = new Chunks(expectedSize) {
+                @Override
+                Object newChunk(int size) {
+                    return new double[size];
+                }
+            };
+        }
+
+        @Override
+        public void accept(double value) {
+            int slot = chunks.slot();
+            ((double[]) chunks.current)[slot] = value;
+        }
+
+        @Override
+        public OfDouble add(double value) {
+            accept(value);
+            return this;
+        }
+
+        public long size() {
+            return chunks.count;
+        }
+
+        @Override
+        public DoubleStream build() {
+            chunks.seal();
+            return StreamSupport.doubleStream(new DoubleSpliterator(chunks.data, chunks.offsets, 0, chunks.count),
+                    false);
+        }
+    }
+
+    /**
+     * Lista de blocos; cada bloco é um array ({@code Object[]}, {@code int[]}
+     * etc.) e {@code offsets[i]} é o índice global do primeiro elemento do
+     * bloco {@code i}.
+     */
+    private abstract static class Chunks {
+
+        Object[] data = new Object[4];
+        long[] offsets = new long[5];
+        int chunkCount;
+
+        Object current;
+        int currentSize;
+        int currentCapacity;
+        long count;
+        private boolean built;
+        private final int firstChunkSize;
+
+        Chunks(int expectedSize) {
+            if (expectedSize < 0) {
+                throw new IllegalArgumentException("expectedSize: " + expectedSize);
+            }
+            this.firstChunkSize = Math.max(1, Math.min(expectedSize, MAX_CHUNK_SIZE));
+        }
+
+        abstract Object newChunk(int size);
+
+        /**
+         * Posição livre no bloco atual, alocando um novo bloco se necessário.
+         */
+        final int slot() {
+            if (built) {
+                throw new IllegalStateException("build() already called");
+            }
+            if (currentSize == currentCapacity) {
+                grow();
+            }
+            count++;
+            return currentSize++;
+        }
+
+        private void grow() {
+            int size = chunkCount == 0
+                    ? firstChunkSize
+                    : (int) Math.min(Math.max(count, DEFAULT_CAPACITY), MAX_CHUNK_SIZE);
+            if (chunkCount == data.length) {
+                data = Arrays.copyOf(data, chunkCount * 2);
+                offsets = Arrays.copyOf(offsets, chunkCount * 2 + 1);
+            }
+            current = newChunk(size);
+            data[chunkCount] = current;
+            offsets[chunkCount] = count;
+            chunkCount++;
+            currentSize = 0;
+            currentCapacity = size;
+        }
+
+        final void seal() {
+            if (built) {
+                throw new IllegalStateException("build() already called");
+            }
+            built = true;
+            offsets[chunkCount] = count;
+            current = null;
+        }
+    }
+
+    /**
+     * Intervalo {@code [index, end)} de índices globais; {@code chunk} é o
+     * bloco que contém {@code index}.
+     */
+    private abstract static class ChunkRange {
+
+        final Object[] data;
+        final long[] offsets;
+        long index;
+        final long end;
+        int chunk;
+
+        ChunkRange(Object[] data, long[] offsets, long index, long end) {
+            this.data = data;
+            this.offsets = offsets;
+            this.index = index;
+            this.end = end;
+            this.chunk = locate(index);
+        }
+
+        private int locate(long position) {
+            int low = 0;
+            int high = data.length - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (data[middle] != null && offsets[middle] <= position) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Posição de {@code index} dentro do bloco atual, avançando de bloco
+         * se necessário.
+         */
+        final int offsetInChunk() {
+            while (index >= offsets[chunk + 1]) {
+                chunk++;
+            }
+            return (int) (index - offsets[chunk]);
+        }
+
+        /**
+         * Fim (exclusivo) da parte do bloco atual que pertence ao intervalo.
+         */
+        final int chunkLimit() {
+            return (int) (Math.min(end, offsets[chunk + 1]) - offsets[chunk]);
+        }
+
+        /**
+         * Divide ao meio, devolvendo o início da primeira metade, ou -1.
+         */
+        final long split() {
+            long middle = index + ((end - index) >>> 1);
+            if (middle <= index) {
+                return -1;
+            }
+            long from = index;
+            index = middle;
+            chunk = locate(middle);
+            return from;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+    }
+
+    private static final class RefSpliterator<T> extends ChunkRange implements Spliterator<T> {
+
+        RefSpliterator(Object[] data, long[] offsets, long index, long end) {
+            super(data, offsets, index, end);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= end) {
+                return false;
+            }
+            int offset = offsetInChunk();
+            index++;
+            action.accept((T) ((Object[]) data[chunk])[offset]);
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (index < end) {
+                int from = offsetInChunk();
+                int to = chunkLimit();
+                Object[] values = (Object[]) data[chunk];
+                index += to - from;
+                for (int i = from; i < to; i++) {
+                    action.accept((T) values[i]);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long from = split();
+            return from < 0 ? null : new RefSpliterator<>(data, offsets, from, index);
+        }
+    }
+
+    private static final class IntSpliterator extends ChunkRange implements Spliterator.OfInt {
+
+        IntSpliterator(Object[] data, long[] offsets, long index, long end) {
+            super(data, offsets, index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            int offset = offsetInChunk();
+            index++;
+            action.accept(((int[]) data[chunk])[offset]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (index < end) {
+                int from = offsetInChunk();
+                int to = chunkLimit();
+                int[] values = (int[]) data[chunk];
+                index += to - from;
+                for (int i = from; i < to; i++) {
+                    action.accept(values[i]);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long from = split();
+            return from < 0 ? null : new IntSpliterator(data, offsets, from, index);
+        }
+    }
+
+    private static final class LongSpliterator extends ChunkRange implements Spliterator.OfLong {
+
+        LongSpliterator(Object[] data, long[] offsets, long index, long end) {
+            super(data, offsets, index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            int offset = offsetInChunk();
+            index++;
+            action.accept(((long[]) data[chunk])[offset]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            while (index < end) {
+                int from = offsetInChunk();
+                int to = chunkLimit();
+                long[] values = (long[]) data[chunk];
+                index += to - from;
+                for (int i = from; i < to; i++) {
+                    action.accept(values[i]);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long from = split();
+            return from < 0 ? null : new LongSpliterator(data, offsets, from, index);
+        }
+    }
+
+    private static final class DoubleSpliterator extends ChunkRange implements Spliterator.OfDouble {
+
+        DoubleSpliterator(Object[] data, long[] offsets, long index, long end) {
+            super(data, offsets, index, end);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            int offset = offsetInChunk();
+            index++;
+            action.accept(((double[]) data[chunk])[offset]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            while (index < end) {
+                int from = offsetInChunk();
+                int to = chunkLimit();
+                double[] values = (double[]) data[chunk];
+                index += to - from;
+                for (int i = from; i < to; i++) {
+                    action.accept(values[i]);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            long from = split();
+            return from < 0 ? null : new DoubleSpliterator(data, offsets, from, index);
+        }
+    }
+}
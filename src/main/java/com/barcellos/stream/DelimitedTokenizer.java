@@ -0,0 +1,248 @@
+package com.barcellos.stream;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Divide um texto por um delimitador literal, como
+ * {@code Pattern.compile(Pattern.quote(delimiter)).splitAsStream(input)}, mas
+ * sem expressão regular e sem copiar cada token para uma nova {@code String}.
+ *
+ * Os tokens são vistas {@link CharSequence} sobre o texto de origem; só
+ * {@code toString()} copia os caracteres. O resultado segue as mesmas regras do
+ * {@code splitAsStream}: tokens vazios no final são descartados, tokens vazios
+ * no início e no meio são mantidos e um texto vazio produz um único token
+ * vazio.
+ *
+ * Os delimitadores são localizados sob demanda, à medida que o stream consome
+ * os tokens: {@code findFirst} e {@code limit} param cedo e nada é alocado
+ * além dos próprios tokens. Para {@code parallel()}, o spliterator se divide
+ * por faixa de caracteres, como o {@code PersonFileLoader}: corta no meio e
+ * avança até o fim do próximo delimitador. Por isso ele não é {@code SIZED} e
+ * a estimativa é um limite superior calculado pelo tamanho da faixa.
+ *
+ * Delimitadores cujo início se repete no final (como {@code "aa"} ou
+ * {@code "abab"}) podem ter ocorrências sobrepostas, e a posição de cada uma
+ * depende da varredura desde o começo do texto; com eles o spliterator não se
+ * divide e os tokens vazios do final são descobertos com uma passada extra,
+ * sem alocação.
+ */
+public class DelimitedTokenizer {
+
+    private static final int MIN_SPLIT_SIZE = 8 * 1024;
+
+    private final String delimiter;
+    private final boolean overlapping;
+
+    public DelimitedTokenizer(String delimiter) {
+        Objects.requireNonNull(delimiter, "delimiter");
+        if (delimiter.isEmpty()) {
+            throw new IllegalArgumentException("delimiter must not be empty");
+        }
+        this.delimiter = delimiter;
+        this.overlapping = overlaps(delimiter);
+    }
+
+    public static DelimitedTokenizer on(String delimiter) {
+        return new DelimitedTokenizer(delimiter);
+    }
+
+    public Stream<CharSequence> tokens(CharSequence input) {
+        return StreamSupport.stream(spliterator(input), false);
+    }
+
+    public Stream<String> split(CharSequence input) {
+        return tokens(input).map(CharSequence::toString);
+    }
+
+    public int count(CharSequence input) {
+        int end = end(input);
+        if (end == 0) {
+            return input.length() == 0 ? 1 : 0;
+        }
+        int count = 1;
+        for (int i = indexOf(input, 0, end); i >= 0; i = indexOf(input, i + delimiter.length(), end)) {
+            count++;
+        }
+        return count;
+    }
+
+    public Spliterator<CharSequence> spliterator(CharSequence input) {
+        Objects.requireNonNull(input, "input");
+        int end = end(input);
+        return new TokenSpliterator(input, 0, end, end > 0 || input.length() == 0);
+    }
+
+    /**
+     * Fim do último token não vazio, ou 0 se não houver nenhum: o que vem
+     * depois são os tokens vazios do final, descartados como no
+     * {@code splitAsStream}.
+     */
+    private int end(CharSequence input) {
+        int length = input.length();
+        int delimiterLength = delimiter.length();
+
+        if (overlapping) {
+            int end = 0;
+            int tokenStart = 0;
+            for (int i = indexOf(input, 0, length); i >= 0; i = indexOf(input, tokenStart, length)) {
+                if (i > tokenStart) {
+                    end = i;
+                }
+                tokenStart = i + delimiterLength;
+            }
+            return length > tokenStart ? length : end;
+        }
+
+        // Sem sobreposição, toda ocorrência é um delimitador: basta olhar o final.
+        int end = length;
+        while (end >= delimiterLength && input.charAt(end - delimiterLength) == delimiter.charAt(0)
+                && matches(input, end - delimiterLength)) {
+            end -= delimiterLength;
+        }
+        return end;
+    }
+
+    /**
+     * Primeiro delimitador que começa em {@code from} ou depois e termina até
+     * {@code to}, ou -1.
+     */
+    private int indexOf(CharSequence input, int from, int to) {
+        char first = delimiter.charAt(0);
+        for (int i = from, last = to - delimiter.length(); i <= last; i++) {
+            if (input.charAt(i) == first && matches(input, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches(CharSequence input, int offset) {
+        for (int j = 1; j < delimiter.length(); j++) {
+            if (input.charAt(offset + j) != delimiter.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean overlaps(String delimiter) {
+        for (int k = 1; k < delimiter.length(); k++) {
+            if (delimiter.startsWith(delimiter.substring(k))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tokens que começam em {@code [position, end)}. Só a última faixa
+     * ({@code last}) tem o token final, que não termina em delimitador; as
+     * demais terminam logo depois de um delimitador.
+     */
+    private final class TokenSpliterator implements Spliterator<CharSequence> {
+
+        private final CharSequence input;
+        private int position;
+        private final int end;
+        private boolean last;
+
+        TokenSpliterator(CharSequence input, int position, int end, boolean last) {
+            this.input = input;
+            this.position = position;
+            this.end = end;
+            this.last = last;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CharSequence> action) {
+            if (position < end) {
+                int found = indexOf(input, position, end);
+                if (found >= 0) {
+                    action.accept(new Slice(input, position, found));
+                    position = found + delimiter.length();
+                    return true;
+                }
+            }
+            if (last) {
+                action.accept(new Slice(input, position, end));
+                position = end;
+                last = false;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<CharSequence> trySplit() {
+            int remaining = end - position;
+            if (overlapping || remaining < 2 * MIN_SPLIT_SIZE) {
+                return null;
+            }
+            int found = indexOf(input, position + remaining / 2, end);
+            if (found < 0 || found + delimiter.length() >= end) {
+                return null;
+            }
+            int split = found + delimiter.length();
+            TokenSpliterator prefix = new TokenSpliterator(input, position, split, false);
+            position = split;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            // Cada token da faixa consome ao menos um delimitador, exceto o final.
+            return (end - position) / delimiter.length() + (last ? 1 : 0);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    /**
+     * Vista somente leitura de um trecho do texto de origem.
+     */
+    private static final class Slice implements CharSequence {
+
+        private final CharSequence source;
+        private final int start;
+        private final int end;
+
+        Slice(CharSequence source, int start, int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("index: " + index + ", length: " + length());
+            }
+            return source.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + length());
+            }
+            return new Slice(source, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return source.subSequence(start, end).toString();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.barcellos.stream;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams finitos gerados pelo índice, alternativa a
+ * {@code Stream.iterate(...).limit(n)} e {@code Stream.generate(...).limit(n)}.
+ *
+ * {@code iterate} depende do elemento anterior e {@code limit} não conhece o
+ * tamanho de antemão, por isso esses streams praticamente não se dividem em
+ * {@code parallel()}. Aqui o elemento {@code i} é calculado diretamente a
+ * partir de {@code i}, o tamanho é exato ({@code SIZED}/{@code SUBSIZED}) e o
+ * spliterator se divide ao meio:
+ *
+ * <pre>
+ * Stream.iterate(40, n -&gt; n + 2).limit(20)   -&gt;  Generators.arithmetic(40, 2, 20)
+ * Stream.generate(() -&gt; "element").limit(10) -&gt;  Generators.indexed(10, i -&gt; "element")
+ * </pre>
+ *
+ * As funções de índice devem ser puras, pois podem ser chamadas em qualquer
+ * ordem e em várias threads.
+ */
+public final class Generators {
+
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+            | Spliterator.IMMUTABLE;
+
+    private Generators() {
+    }
+
+    /**
+     * {@code count} elementos {@code first, first + step, first + 2 * step...};
+     * estouros de {@code int} dão a volta como na soma comum.
+     */
+    public static IntStream arithmetic(int first, int step, long count) {
+        return indexedInt(count, i -> (int) (first + i * step));
+    }
+
+    public static LongStream arithmetic(long first, long step, long count) {
+        return indexedLong(count, i -> first + i * step);
+    }
+
+    /**
+     * Cada elemento é calculado como {@code first + i * step}, sem acumular o
+     * erro de arredondamento de somas sucessivas.
+     */
+    public static DoubleStream arithmetic(double first, double step, long count) {
+        return indexedDouble(count, i -> first + i * step);
+    }
+
+    public static <T> Stream<T> indexed(long count, LongFunction<? extends T> generator) {
+        Objects.requireNonNull(generator, "generator");
+        return StreamSupport.stream(new IndexedSpliterator<T>(generator, 0, checkCount(count)), false);
+    }
+
+    public static IntStream indexedInt(long count, LongToIntFunction generator) {
+        Objects.requireNonNull(generator, "generator");
+        return StreamSupport.intStream(new IntIndexedSpliterator(generator, 0, checkCount(count)), false);
+    }
+
+    public static LongStream indexedLong(long count, LongUnaryOperator generator) {
+        Objects.requireNonNull(generator, "generator");
+        return StreamSupport.longStream(new LongIndexedSpliterator(generator, 0, checkCount(count)), false);
+    }
+
+    public static DoubleStream indexedDouble(long count, LongToDoubleFunction generator) {
+        Objects.requireNonNull(generator, "generator");
+        return StreamSupport.doubleStream(new DoubleIndexedSpliterator(generator, 0, checkCount(count)), false);
+    }
+
+    private static long checkCount(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Intervalo {@code [index, end)} de índices, dividido sempre ao meio.
+     */
+    private abstract static class IndexRange {
+
+        long index;
+        final long end;
+
+        IndexRange(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        /**
+         * Meio do intervalo restante, ou -1 se não vale a pena dividir.
+         */
+        long split() {
+            long middle = index + ((end - index) >>> 1);
+            if (middle <= index) {
+                return -1;
+            }
+            long from = index;
+            index = middle;
+            return from;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private static final class IndexedSpliterator<T> extends IndexRange implements Spliterator<T> {
+
+        private final LongFunction<? extends T> generator;
+
+        IndexedSpliterator(LongFunction<? extends T> generator, long index, long end) {
+            super(index, end);
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(generator.apply(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            long i = index;
+            index = end;
+            for (; i < end; i++) {
+                action.accept(generator.apply(i));
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            long from = split();
+            return from < 0 ? null : new IndexedSpliterator<>(generator, from, index);
+        }
+    }
+
+    private static final class IntIndexedSpliterator extends IndexRange implements Spliterator.OfInt {
+
+        private final LongToIntFunction generator;
+
+        IntIndexedSpliterator(LongToIntFunction generator, long index, long end) {
+            super(index, end);
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(generator.applyAsInt(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            long i = index;
+            index = end;
+            for (; i < end; i++) {
+                action.accept(generator.applyAsInt(i));
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long from = split();
+            return from < 0 ? null : new IntIndexedSpliterator(generator, from, index);
+        }
+    }
+
+    private static final class LongIndexedSpliterator extends IndexRange implements Spliterator.OfLong {
+
+        private final LongUnaryOperator generator;
+
+        LongIndexedSpliterator(LongUnaryOperator generator, long index, long end) {
+            super(index, end);
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(generator.applyAsLong(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            long i = index;
+            index = end;
+            for (; i < end; i++) {
+                action.accept(generator.applyAsLong(i));
+            }
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            long from = split();
+            return from < 0 ? null : new LongIndexedSpliterator(generator, from, index);
+        }
+    }
+
+    private static final class DoubleIndexedSpliterator extends IndexRange implements Spliterator.OfDouble {
+
+        private final LongToDoubleFunction generator;
+
+        DoubleIndexedSpliterator(LongToDoubleFunction generator, long index, long end) {
+            super(index, end);
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(generator.applyAsDouble(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            long i = index;
+            index = end;
+            for (; i < end; i++) {
+                action.accept(generator.applyAsDouble(i));
+            }
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            long from = split();
+            return from < 0 ? null : new DoubleIndexedSpliterator(generator, from, index);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.barcellos.collections;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link TreeMap} contra {@link BTreeMap}: varredura de um intervalo com
+ * {@code subMap}, consulta pontual e montagem a partir de um mapa ordenado.
+ * Os mapas são montados com inserções em ordem aleatória, para que os nós
+ * da {@code TreeMap} fiquem espalhados pelo heap como em uso real.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BTreeMapBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        @Param({ "TreeMap", "BTreeMap" })
+        public String type;
+
+        @Param({ "1000000" })
+        public int size;
+
+        @Param({ "10000" })
+        public int range;
+
+        public NavigableMap<Integer, Integer> map;
+        public int[] starts;
+        private int next;
+
+        @Setup
+        public void setup() {
+            map = "BTreeMap".equals(type) ? new BTreeMap<>() : new TreeMap<>();
+            Random random = new Random(42);
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i;
+            }
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = tmp;
+            }
+            for (int key : keys) {
+                map.put(key, key);
+            }
+
+            starts = new int[1024];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = random.nextInt(size - range);
+            }
+        }
+
+        int nextStart() {
+            next = (next + 1) & (starts.length - 1);
+            return starts[next];
+        }
+    }
+
+    @Benchmark
+    public long rangeScan(Data data) {
+        int from = data.nextStart();
+        long sum = 0;
+        for (Map.Entry<Integer, Integer> entry : data.map.subMap(from, true, from + data.range, false).entrySet()) {
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long rangeScanKeys(Data data) {
+        int from = data.nextStart();
+        long sum = 0;
+        for (Integer key : data.map.subMap(from, true, from + data.range, false).keySet()) {
+            sum += key;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Integer get(Data data) {
+        return data.map.get(data.nextStart());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<Integer, Integer> copyFromSorted(Data data) {
+        return "BTreeMap".equals(data.type) ? new BTreeMap<>(data.map) : new TreeMap<>(data.map);
+    }
+}
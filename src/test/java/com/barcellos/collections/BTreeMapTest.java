@@ -0,0 +1,282 @@
+package com.barcellos.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class BTreeMapTest {
+
+    @Test
+    public void givenRandomOperations_whenComparedToTreeMap_thenSameResults() {
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        Random random = new Random(23);
+
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(20_000);
+            int op = random.nextInt(10);
+            if (op < 6) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else if (op < 9) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.floorKey(key), map.floorKey(key));
+                assertEquals(expected.higherEntry(key), map.higherEntry(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals(new ArrayList<>(expected.descendingMap().values()),
+                new ArrayList<>(map.descendingMap().values()));
+        for (int key = -1; key <= 20_000; key += 7) {
+            assertEquals(expected.lowerEntry(key), map.lowerEntry(key));
+            assertEquals(expected.floorEntry(key), map.floorEntry(key));
+            assertEquals(expected.ceilingEntry(key), map.ceilingEntry(key));
+            assertEquals(expected.higherEntry(key), map.higherEntry(key));
+        }
+    }
+
+    @Test
+    public void givenRandomRanges_whenViewed_thenSameAsTreeMapViews() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        for (int i = 0; i < 10_000; i += 3) {
+            expected.put(i, "v" + i);
+        }
+        BTreeMap<Integer, String> map = new BTreeMap<>(expected);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 500; i++) {
+            int a = random.nextInt(10_000);
+            int b = a + random.nextInt(3_000);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+
+            assertSameView(expected.subMap(a, fromInclusive, b, toInclusive),
+                    map.subMap(a, fromInclusive, b, toInclusive), random);
+            assertSameView(expected.headMap(b, toInclusive), map.headMap(b, toInclusive), random);
+            assertSameView(expected.tailMap(a, fromInclusive).descendingMap(),
+                    map.tailMap(a, fromInclusive).descendingMap(), random);
+            assertSameView(expected.descendingMap().subMap(b, toInclusive, a, fromInclusive),
+                    map.descendingMap().subMap(b, toInclusive, a, fromInclusive), random);
+        }
+    }
+
+    private static void assertSameView(NavigableMap<Integer, String> expected, NavigableMap<Integer, String> actual,
+            Random random) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+        assertEquals(expected.firstEntry(), actual.firstEntry());
+        assertEquals(expected.lastEntry(), actual.lastEntry());
+        for (int i = 0; i < 5; i++) {
+            int key = random.nextInt(14_000) - 1_000;
+            assertEquals(expected.get(key), actual.get(key));
+            assertEquals(expected.lowerKey(key), actual.lowerKey(key));
+            assertEquals(expected.floorKey(key), actual.floorKey(key));
+            assertEquals(expected.ceilingKey(key), actual.ceilingKey(key));
+            assertEquals(expected.higherKey(key), actual.higherKey(key));
+        }
+    }
+
+    @Test
+    public void givenSubMap_whenModified_thenBackingMapChanges() {
+        BTreeMap<Integer, String> map = new BTreeMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, "v" + i);
+        }
+        NavigableMap<Integer, String> sub = map.subMap(100, true, 200, false);
+
+        sub.put(150, "changed");
+        assertEquals("changed", map.get(150));
+        assertEquals("v100", sub.pollFirstEntry().getValue());
+        assertFalse(map.containsKey(100));
+        sub.clear();
+
+        assertEquals(900, map.size());
+        assertEquals(Integer.valueOf(99), map.lowerKey(200));
+        try {
+            sub.put(500, "out");
+        } catch (IllegalArgumentException expected) {
+            return;
+        }
+        throw new AssertionError("key out of range accepted");
+    }
+
+    @Test
+    public void givenEntries_whenValuesReplaced_thenSameAsTreeMap() {
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            expected.put(i * 3, i);
+        }
+        BTreeMap<Integer, Integer> map = new BTreeMap<>(expected);
+
+        expected.replaceAll((key, value) -> key + value);
+        map.replaceAll((key, value) -> key + value);
+        assertEquals(expected, map);
+
+        for (NavigableMap<Integer, Integer> m : Arrays.<NavigableMap<Integer, Integer>>asList(expected, map)) {
+            for (Map.Entry<Integer, Integer> entry : m.subMap(300, true, 600, false).descendingMap().entrySet()) {
+                assertEquals(entry.getValue(), entry.setValue(-entry.getKey()));
+            }
+        }
+        assertEquals(expected, map);
+        assertEquals(Integer.valueOf(-300), map.get(300));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void givenEntry_whenMapStructurallyModified_thenSetValueFailsFast() {
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        map.put(1, 1);
+        Map.Entry<Integer, Integer> entry = map.entrySet().iterator().next();
+        map.put(0, 0);
+        entry.setValue(2);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void givenNavigationEntry_whenSetValue_thenUnsupported() {
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        map.put(1, 1);
+        map.firstEntry().setValue(2);
+    }
+
+    @Test
+    public void givenIterator_whenRemovingEveryOtherKey_thenOnlyOddKeysRemain() {
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i);
+        }
+
+        for (Iterator<Integer> it = map.keySet().iterator(); it.hasNext();) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        for (Iterator<Integer> it = map.descendingMap().keySet().iterator(); it.hasNext();) {
+            if (it.next() % 3 == 0) {
+                it.remove();
+            }
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 2 != 0 && i % 3 != 0) {
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, new ArrayList<>(map.keySet()));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void givenIterator_whenMapModified_thenFailFast() {
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        map.put(1, 1);
+        map.put(2, 2);
+        Iterator<Integer> it = map.keySet().iterator();
+        it.next();
+        map.put(3, 3);
+        it.next();
+    }
+
+    @Test
+    public void givenSortedInput_whenBulkLoaded_thenSameAsInserted() {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            String key = String.format("key%06d", i);
+            entries.add(new SimpleImmutableEntry<>(key, i));
+            expected.put(key, i);
+        }
+
+        BTreeMap<String, Integer> map = BTreeMap.fromSorted(null, entries);
+        assertEquals(expected, map);
+        assertEquals(expected.subMap("key001000", "key002000"), map.subMap("key001000", "key002000"));
+
+        map.put("key050000x", -1);
+        map.remove("key000000");
+        assertEquals(Integer.valueOf(-1), map.get("key050000x"));
+        assertEquals("key000001", map.firstKey());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenUnsortedInput_whenBulkLoaded_thenRejected() {
+        BTreeMap.fromSorted(null, Arrays.asList(new SimpleImmutableEntry<>(2, "b"),
+                new SimpleImmutableEntry<>(1, "a")));
+    }
+
+    @Test
+    public void givenComparator_whenIterated_thenComparatorOrder() {
+        BTreeMap<String, Integer> map = new BTreeMap<>(Comparator.reverseOrder());
+        map.put("a", 1);
+        map.put("c", 3);
+        map.put("b", 2);
+
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(map.keySet()));
+        assertEquals("c", map.firstKey());
+        assertEquals(new BTreeMap<>(map), map);
+    }
+
+    @Test
+    public void givenEmptyMap_whenNavigated_thenNullsOrNoSuchElement() {
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        assertNull(map.firstEntry());
+        assertNull(map.pollLastEntry());
+        assertNull(map.ceilingKey(1));
+        assertTrue(map.subMap(1, 5).isEmpty());
+        try {
+            map.firstKey();
+        } catch (NoSuchElementException expected) {
+            return;
+        }
+        throw new AssertionError("firstKey on empty map");
+    }
+
+    @Test
+    public void givenSet_whenComparedToTreeSet_thenSameResults() {
+        TreeSet<Integer> expected = new TreeSet<>();
+        BTreeSet<Integer> set = new BTreeSet<>();
+        Random random = new Random(31);
+        for (int i = 0; i < 50_000; i++) {
+            int value = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+
+        assertEquals(expected, set);
+        assertEquals(new ArrayList<>(expected.descendingSet()), new ArrayList<>(set.descendingSet()));
+        NavigableSet<Integer> expectedSub = expected.subSet(1_000, true, 2_000, false);
+        NavigableSet<Integer> sub = set.subSet(1_000, true, 2_000, false);
+        assertEquals(new ArrayList<>(expectedSub), new ArrayList<>(sub));
+        assertEquals(expectedSub.pollLast(), sub.pollLast());
+        assertTrue(sub.add(1_500) || set.contains(1_500));
+        assertEquals(new ArrayList<>(expected.headSet(100)), new ArrayList<>(new BTreeSet<>(expected).headSet(100)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void givenKeySetView_whenAdded_thenUnsupported() {
+        new BTreeMap<Integer, Integer>().navigableKeySet().add(1);
+    }
+}
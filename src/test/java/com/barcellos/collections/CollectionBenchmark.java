@@ -0,0 +1,241 @@
+package com.barcellos.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.Stack;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mede as afirmações de desempenho comentadas no {@link CollectionTest}: add,
+ * get indexado e iteração das listas, e inserção/consulta dos conjuntos e
+ * mapas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Lists {
+
+        @Param({ "ArrayList", "LinkedList", "Vector", "Stack" })
+        public String type;
+
+        @Param({ "10000" })
+        public int size;
+
+        public List<String> list;
+        public int[] indexes;
+
+        @Setup
+        public void setup() {
+            list = newList(type);
+            for (int i = 0; i < size; i++) {
+                list.add("element" + i);
+            }
+
+            Random random = new Random(42);
+            indexes = new int[1000];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = random.nextInt(size);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Sets {
+
+        @Param({ "HashSet", "TreeSet", "LinkedHashSet" })
+        public String type;
+
+        @Param({ "10000" })
+        public int size;
+
+        public String[] elements;
+        public Set<String> set;
+
+        @Setup
+        public void setup() {
+            elements = elements(size);
+            set = newSet(type);
+            for (String element : elements) {
+                set.add(element);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Maps {
+
+        @Param({ "HashMap", "TreeMap" })
+        public String type;
+
+        @Param({ "10000" })
+        public int size;
+
+        public String[] keys;
+        public Map<String, Object> map;
+
+        @Setup
+        public void setup() {
+            keys = elements(size);
+            map = newMap(type);
+            for (String key : keys) {
+                map.put(key, key);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> listAdd(Lists state) {
+        List<String> list = newList(state.type);
+        for (int i = 0; i < state.size; i++) {
+            list.add("e");
+        }
+        return list;
+    }
+
+    @Benchmark
+    public int listGet(Lists state) {
+        int length = 0;
+        for (int index : state.indexes) {
+            length += state.list.get(index).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int listIterate(Lists state) {
+        int length = 0;
+        for (String element : state.list) {
+            length += element.length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public Set<String> setAdd(Sets state) {
+        Set<String> set = newSet(state.type);
+        for (String element : state.elements) {
+            set.add(element);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public int setContains(Sets state) {
+        int found = 0;
+        for (String element : state.elements) {
+            if (state.set.contains(element)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int setIterate(Sets state) {
+        return iterate(state.set);
+    }
+
+    @Benchmark
+    public Map<String, Object> mapPut(Maps state) {
+        Map<String, Object> map = newMap(state.type);
+        for (String key : state.keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public int mapGet(Maps state) {
+        int found = 0;
+        for (String key : state.keys) {
+            if (state.map.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static int iterate(Collection<String> collection) {
+        int length = 0;
+        for (String element : collection) {
+            length += element.length();
+        }
+        return length;
+    }
+
+    private static String[] elements(int size) {
+        Random random = new Random(42);
+        String[] elements = new String[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = "element" + random.nextInt();
+        }
+        return elements;
+    }
+
+    private static List<String> newList(String type) {
+        switch (type) {
+            case "ArrayList":
+                return new ArrayList<>();
+            case "LinkedList":
+                return new LinkedList<>();
+            case "Vector":
+                return new Vector<>();
+            case "Stack":
+                return new Stack<>();
+            default:
+                throw new IllegalArgumentException("Unknown list: " + type);
+        }
+    }
+
+    private static Set<String> newSet(String type) {
+        switch (type) {
+            case "HashSet":
+                return new HashSet<>();
+            case "TreeSet":
+                return new TreeSet<>();
+            case "LinkedHashSet":
+                return new LinkedHashSet<>();
+            default:
+                throw new IllegalArgumentException("Unknown set: " + type);
+        }
+    }
+
+    private static Map<String, Object> newMap(String type) {
+        switch (type) {
+            case "HashMap":
+                return new HashMap<>();
+            case "TreeMap":
+                return new TreeMap<>();
+            default:
+                throw new IllegalArgumentException("Unknown map: " + type);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.barcellos.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CompactLinkedHashMapTest {
+
+    @Test
+    public void givenRandomOperations_whenComparedToLinkedHashMap_thenSameContentAndOrder() {
+        LinkedHashMap<Integer, Integer> expected = new LinkedHashMap<>();
+        CompactLinkedHashMap<Integer, Integer> map = new CompactLinkedHashMap<>();
+        Random random = new Random(24);
+
+        for (int i = 0; i < 200_000; i++) {
+            Integer key = random.nextInt(10_000);
+            int op = random.nextInt(10);
+            if (op < 5) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else if (op < 9) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    public void givenReinsertedKey_whenIterated_thenOriginalPositionKept() {
+        CompactLinkedHashMap<String, Integer> map = new CompactLinkedHashMap<>();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        map.put("c", 4);
+        map.remove("a");
+        map.put("a", 5);
+
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(map.keySet()));
+        assertEquals(Arrays.asList(4, 3, 5), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    public void givenNullKeyAndValue_whenStored_thenFound() {
+        CompactLinkedHashMap<String, String> map = new CompactLinkedHashMap<>();
+        map.put(null, "null key");
+        map.put("null value", null);
+
+        assertEquals("null key", map.get(null));
+        assertTrue(map.containsKey("null value"));
+        assertNull(map.get("null value"));
+        assertTrue(map.containsValue(null));
+        assertEquals("null key", map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void givenManyRemovals_whenCompacted_thenOrderPreserved() {
+        CompactLinkedHashMap<Integer, String> map = new CompactLinkedHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, "v" + i);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 100 != 0) {
+                map.remove(i);
+            }
+        }
+
+        List<Integer> keys = new ArrayList<>(map.keySet());
+        assertEquals(1_000, keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(Integer.valueOf(i * 100), keys.get(i));
+        }
+        assertEquals("v500", map.get(500));
+    }
+
+    @Test
+    public void givenIterator_whenRemovingAndSettingValues_thenWrittenThrough() {
+        CompactLinkedHashMap<Integer, Integer> map = new CompactLinkedHashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i, i);
+        }
+
+        for (Iterator<Map.Entry<Integer, Integer>> it = map.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Integer, Integer> entry = it.next();
+            if (entry.getKey() % 2 == 0) {
+                it.remove();
+            } else {
+                entry.setValue(-entry.getValue());
+            }
+        }
+
+        assertEquals(500, map.size());
+        assertEquals(Integer.valueOf(-1), map.get(1));
+        assertNull(map.get(2));
+        assertEquals(Integer.valueOf(1), map.keySet().iterator().next());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void givenIterator_whenMapModified_thenFailFast() {
+        CompactLinkedHashMap<Integer, Integer> map = new CompactLinkedHashMap<>();
+        map.put(1, 1);
+        map.put(2, 2);
+        Iterator<Integer> it = map.keySet().iterator();
+        it.next();
+        map.put(3, 3);
+        it.next();
+    }
+
+    @Test
+    public void givenSet_whenComparedToLinkedHashSet_thenSameContentAndOrder() {
+        LinkedHashSet<String> expected = new LinkedHashSet<>();
+        CompactLinkedHashSet<String> set = new CompactLinkedHashSet<>();
+        Random random = new Random(8);
+
+        for (int i = 0; i < 50_000; i++) {
+            String value = "s" + random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        assertTrue(set.add(null));
+        assertFalse(set.add(null));
+        expected.add(null);
+
+        assertEquals(expected, set);
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(new CompactLinkedHashSet<>(expected)));
+    }
+
+    @Test
+    public void givenKeysWithCollidingHashes_whenStored_thenAllFound() {
+        CompactLinkedHashMap<String, Integer> map = new CompactLinkedHashMap<>();
+        // "Aa" e "BB" têm o mesmo hashCode; as combinações também colidem.
+        List<String> keys = new ArrayList<>();
+        for (String a : new String[] { "Aa", "BB" }) {
+            for (String b : new String[] { "Aa", "BB" }) {
+                for (String c : new String[] { "Aa", "BB" }) {
+                    keys.add(a + b + c);
+                }
+            }
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), i);
+        }
+        map.remove(keys.get(3));
+
+        assertEquals(7, map.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i == 3 ? null : Integer.valueOf(i), map.get(keys.get(i)));
+        }
+    }
+}
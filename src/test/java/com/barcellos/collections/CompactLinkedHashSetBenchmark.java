@@ -0,0 +1,91 @@
+package com.barcellos.collections;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link LinkedHashSet} contra {@link CompactLinkedHashSet}: iteração
+ * completa, consulta e uma rodada de remoções e reinserções (que deixa
+ * lacunas para a compactação preguiçosa).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactLinkedHashSetBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        @Param({ "LinkedHashSet", "CompactLinkedHashSet" })
+        public String type;
+
+        @Param({ "100000" })
+        public int size;
+
+        public Set<String> set;
+        public String[] lookups;
+        private int next;
+
+        @Setup
+        public void setup() {
+            set = newSet(type);
+            for (int i = 0; i < size; i++) {
+                set.add("element" + i);
+            }
+            Random random = new Random(42);
+            lookups = new String[1024];
+            for (int i = 0; i < lookups.length; i++) {
+                lookups[i] = "element" + random.nextInt(size * 2);
+            }
+        }
+
+        String nextLookup() {
+            next = (next + 1) & (lookups.length - 1);
+            return lookups[next];
+        }
+    }
+
+    @Benchmark
+    public int iterate(Data data) {
+        int length = 0;
+        for (String element : data.set) {
+            length += element.length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public boolean contains(Data data) {
+        return data.set.contains(data.nextLookup());
+    }
+
+    @Benchmark
+    public boolean removeAndReinsert(Data data) {
+        String element = data.nextLookup();
+        boolean removed = data.set.remove(element);
+        if (removed) {
+            data.set.add(element);
+        }
+        return removed;
+    }
+
+    private static Set<String> newSet(String type) {
+        return "CompactLinkedHashSet".equals(type) ? new CompactLinkedHashSet<>() : new LinkedHashSet<>();
+    }
+}
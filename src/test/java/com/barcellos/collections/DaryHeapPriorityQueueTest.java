@@ -0,0 +1,164 @@
+package com.barcellos.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class DaryHeapPriorityQueueTest {
+
+    @Test
+    public void givenRandomOperations_whenComparedToPriorityQueue_thenSameResults() {
+        for (int arity : new int[] { 2, 4, 8, 16 }) {
+            PriorityQueue<Integer> expected = new PriorityQueue<>();
+            DaryHeapPriorityQueue<Integer> queue = new DaryHeapPriorityQueue<>(arity, 0, null);
+            Random random = new Random(arity);
+
+            for (int i = 0; i < 20_000; i++) {
+                int op = random.nextInt(10);
+                if (op < 5) {
+                    int value = random.nextInt(1_000);
+                    expected.offer(value);
+                    queue.offer(value);
+                } else if (op < 8) {
+                    assertEquals(expected.poll(), queue.poll());
+                } else if (op < 9) {
+                    Integer value = random.nextInt(1_000);
+                    assertEquals(expected.remove(value), queue.remove(value));
+                } else {
+                    List<Integer> batch = new ArrayList<>();
+                    for (int j = random.nextInt(200); j > 0; j--) {
+                        batch.add(random.nextInt(1_000));
+                    }
+                    expected.addAll(batch);
+                    queue.addAll(batch);
+                }
+                assertEquals(expected.size(), queue.size());
+                assertEquals(expected.peek(), queue.peek());
+            }
+            while (!expected.isEmpty()) {
+                assertEquals(expected.poll(), queue.poll());
+            }
+            assertNull(queue.poll());
+        }
+    }
+
+    @Test
+    public void givenBulkAddAll_whenPolled_thenSorted() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(1));
+
+        DaryHeapPriorityQueue<Integer> queue = new DaryHeapPriorityQueue<>(values);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void givenComparator_whenPolled_thenComparatorOrder() {
+        DaryHeapPriorityQueue<String> queue = new DaryHeapPriorityQueue<>(Comparator.reverseOrder());
+        queue.addAll(Arrays.asList("b", "d", "a", "c"));
+
+        assertEquals("d", queue.poll());
+        assertEquals("c", queue.poll());
+        assertEquals("b", queue.remove());
+        assertEquals("a", queue.element());
+    }
+
+    @Test
+    public void givenSortedSourceWithComparator_whenCopied_thenComparatorAdopted() {
+        // Object não é Comparable: sem o comparador da origem, lançaria ClassCastException.
+        Comparator<Object> byHash = Comparator.comparingInt(Object::hashCode);
+        Object first = new Object();
+        Object second = new Object();
+        TreeSet<Object> sorted = new TreeSet<>(byHash);
+        sorted.add(first);
+        sorted.add(second);
+        PriorityQueue<Object> heap = new PriorityQueue<>(byHash);
+        heap.addAll(sorted);
+
+        for (Collection<Object> source : Arrays.<Collection<Object>>asList(sorted, heap,
+                new DaryHeapPriorityQueue<>(heap))) {
+            DaryHeapPriorityQueue<Object> queue = new DaryHeapPriorityQueue<>(source);
+            assertTrue(queue.comparator() == byHash);
+            assertEquals(sorted.first(), queue.poll());
+            assertEquals(sorted.last(), queue.poll());
+        }
+    }
+
+    @Test
+    public void givenIterator_whenRemovingEveryOther_thenRemainingStillAHeap() {
+        DaryHeapPriorityQueue<Integer> queue = new DaryHeapPriorityQueue<>();
+        Random random = new Random(5);
+        List<Integer> kept = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            queue.offer(random.nextInt(500));
+        }
+
+        int seen = 0;
+        boolean remove = false;
+        for (Iterator<Integer> it = queue.iterator(); it.hasNext();) {
+            Integer value = it.next();
+            seen++;
+            if (remove) {
+                it.remove();
+            } else {
+                kept.add(value);
+            }
+            remove = !remove;
+        }
+
+        assertEquals(2_000, seen);
+        Collections.sort(kept);
+        List<Integer> drained = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            drained.add(queue.poll());
+        }
+        assertEquals(kept, drained);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void givenIterator_whenQueueModified_thenFailFast() {
+        DaryHeapPriorityQueue<Integer> queue = new DaryHeapPriorityQueue<>(Arrays.asList(1, 2, 3));
+        Iterator<Integer> it = queue.iterator();
+        it.next();
+        queue.offer(0);
+        it.next();
+    }
+
+    @Test
+    public void givenQueue_whenNullOrMissing_thenRejectedOrFalse() {
+        DaryHeapPriorityQueue<Integer> queue = new DaryHeapPriorityQueue<>();
+        assertFalse(queue.remove(1));
+        assertFalse(queue.contains(null));
+        try {
+            queue.offer(null);
+        } catch (NullPointerException expected) {
+            return;
+        }
+        throw new AssertionError("null accepted");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenArityNotPowerOfTwo_whenCreated_thenRejected() {
+        new DaryHeapPriorityQueue<Integer>(3, 16, null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.barcellos.collections;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de produzir uma nova versão imutável depois de uma alteração: cópia
+ * completa (copy-on-write de {@link HashMap}/{@link ArrayList}) contra as
+ * versões persistentes, que copiam só o caminho alterado. Mede também a
+ * leitura, em que a trie paga alguns níveis de indireção.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistentCollectionsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        @Param({ "10000" })
+        public int size;
+
+        public Map<Integer, Integer> hashMap;
+        public PersistentHashMap<Integer, Integer> persistentMap;
+        public List<Integer> arrayList;
+        public PersistentVector<Integer> persistentVector;
+        public int[] keys;
+        private int next;
+
+        @Setup
+        public void setup() {
+            hashMap = new HashMap<>();
+            persistentMap = PersistentHashMap.empty();
+            arrayList = new ArrayList<>();
+            persistentVector = PersistentVector.empty();
+            for (int i = 0; i < size; i++) {
+                hashMap.put(i, i);
+                persistentMap = persistentMap.plus(i, i);
+                arrayList.add(i);
+                persistentVector = persistentVector.plus(i);
+            }
+
+            Random random = new Random(42);
+            keys = new int[1024];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextInt(size);
+            }
+        }
+
+        int nextKey() {
+            next = (next + 1) & (keys.length - 1);
+            return keys[next];
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> copyOnWriteHashMapPut(Data data) {
+        Map<Integer, Integer> copy = new HashMap<>(data.hashMap);
+        copy.put(data.nextKey(), -1);
+        return copy;
+    }
+
+    @Benchmark
+    public PersistentHashMap<Integer, Integer> persistentMapPlus(Data data) {
+        return data.persistentMap.plus(data.nextKey(), -1);
+    }
+
+    @Benchmark
+    public Integer hashMapGet(Data data) {
+        return data.hashMap.get(data.nextKey());
+    }
+
+    @Benchmark
+    public Integer persistentMapGet(Data data) {
+        return data.persistentMap.get(data.nextKey());
+    }
+
+    @Benchmark
+    public List<Integer> copyOnWriteArrayListSet(Data data) {
+        List<Integer> copy = new ArrayList<>(data.arrayList);
+        copy.set(data.nextKey(), -1);
+        return copy;
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> persistentVectorWith(Data data) {
+        return data.persistentVector.with(data.nextKey(), -1);
+    }
+
+    @Benchmark
+    public Integer persistentVectorGet(Data data) {
+        return data.persistentVector.get(data.nextKey());
+    }
+}
@@ -0,0 +1,269 @@
+package com.barcellos.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class PersistentCollectionsTest {
+
+    @Test
+    public void givenMap_whenRandomOperations_thenSameAsHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        PersistentHashMap<Integer, String> map = PersistentHashMap.empty();
+        Random random = new Random(21);
+
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                String value = "v" + random.nextInt(10);
+                expected.put(key, value);
+                map = map.plus(key, value);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        for (int key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void givenMap_whenUpdated_thenOldVersionUnchanged() {
+        PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty().plus("a", 1).plus("b", 2);
+        PersistentHashMap<String, Integer> v2 = v1.plus("a", 10).plus("c", 3);
+        PersistentHashMap<String, Integer> v3 = v2.minus("b");
+
+        assertEquals(2, v1.size());
+        assertEquals(Integer.valueOf(1), v1.get("a"));
+        assertFalse(v1.containsKey("c"));
+        assertEquals(Integer.valueOf(10), v2.get("a"));
+        assertTrue(v2.containsKey("b"));
+        assertFalse(v3.containsKey("b"));
+        assertEquals(2, v3.size());
+    }
+
+    @Test
+    public void givenMap_whenNothingChanges_thenSameInstance() {
+        Integer one = 1;
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().plus("a", one);
+
+        assertSame(map, map.plus("a", one));
+        assertSame(map, map.minus("missing"));
+        assertSame(PersistentHashMap.empty(), map.minus("a"));
+    }
+
+    @Test
+    public void givenKeysWithSameHash_whenAddedAndRemoved_thenAllFound() {
+        PersistentHashMap<Object, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 10; i++) {
+            map = map.plus(new Collision(i), i);
+        }
+        map = map.plus(new Other(), 99);
+
+        assertEquals(11, map.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), map.get(new Collision(i)));
+        }
+        for (int i = 0; i < 10; i += 2) {
+            map = map.minus(new Collision(i));
+        }
+        assertEquals(6, map.size());
+        assertNull(map.get(new Collision(4)));
+        assertEquals(Integer.valueOf(5), map.get(new Collision(5)));
+        assertEquals(Integer.valueOf(99), map.get(new Other()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void givenMap_whenMutatedThroughMapInterface_thenUnsupported() {
+        PersistentHashMap.<String, Integer>empty().put("a", 1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void givenMap_whenNullKey_thenRejected() {
+        PersistentHashMap.<String, Integer>empty().plus(null, 1);
+    }
+
+    @Test
+    public void givenSet_whenRandomOperations_thenSameAsHashSet() {
+        Set<Integer> expected = new HashSet<>();
+        PersistentHashSet<Integer> set = PersistentHashSet.empty();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                expected.add(value);
+                set = set.plus(value);
+            } else {
+                expected.remove(value);
+                set = set.minus(value);
+            }
+        }
+
+        assertEquals(expected, set);
+        assertEquals(expected, new HashSet<>(set));
+        assertEquals(PersistentHashSet.copyOf(expected), set);
+    }
+
+    @Test
+    public void givenVector_whenRandomOperations_thenSameAsArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 100_000; i++) {
+            int op = random.nextInt(10);
+            if (op < 6 || expected.isEmpty()) {
+                expected.add(i);
+                vector = vector.plus(i);
+            } else if (op < 8) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, -i);
+                vector = vector.with(index, -i);
+            } else {
+                expected.remove(expected.size() - 1);
+                vector = vector.pop();
+            }
+        }
+
+        assertEquals(expected.size(), vector.size());
+        assertEquals(expected, vector);
+    }
+
+    @Test
+    public void givenLargeVector_whenPoppedToEmpty_thenEveryPrefixCorrect() {
+        int size = 32 * 32 * 33 + 5;
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < size; i++) {
+            vector = vector.plus(i);
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals(Integer.valueOf(i), vector.get(i));
+        }
+
+        while (!vector.isEmpty()) {
+            int last = vector.size() - 1;
+            assertEquals(Integer.valueOf(last), vector.get(last));
+            assertEquals(Integer.valueOf(0), vector.get(0));
+            vector = vector.pop();
+        }
+        assertSame(PersistentVector.empty(), vector);
+    }
+
+    @Test
+    public void givenVector_whenUpdated_thenOldVersionUnchanged() {
+        PersistentVector<String> v1 = PersistentVector.copyOf(Arrays.asList("a", "b", "c"));
+        PersistentVector<String> v2 = v1.with(1, "x").plus("d");
+
+        assertEquals(Arrays.asList("a", "b", "c"), v1);
+        assertEquals(Arrays.asList("a", "x", "c", "d"), v2);
+        assertEquals(Arrays.asList("a", "b"), v1.pop());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void givenVector_whenIndexOutOfRange_thenThrows() {
+        PersistentVector.copyOf(Arrays.asList(1, 2)).get(2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenEmptyVector_whenPopped_thenThrows() {
+        PersistentVector.empty().pop();
+    }
+
+    @Test
+    public void givenSharedReference_whenWritersUpdate_thenReadersSeeConsistentSnapshots() throws InterruptedException {
+        AtomicReference<PersistentHashMap<Integer, Integer>> ref = new AtomicReference<>(PersistentHashMap.empty());
+        int writers = 4;
+        int perWriter = 5_000;
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            int base = w * perWriter;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    int key = base + i;
+                    ref.updateAndGet(map -> map.plus(key, key));
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            try {
+                while (ref.get().size() < writers * perWriter) {
+                    PersistentHashMap<Integer, Integer> snapshot = ref.get();
+                    int counted = 0;
+                    for (Map.Entry<Integer, Integer> entry : snapshot.entrySet()) {
+                        assertEquals(entry.getKey(), entry.getValue());
+                        counted++;
+                    }
+                    assertEquals(snapshot.size(), counted);
+                }
+            } catch (Throwable e) {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            }
+        });
+
+        reader.start();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        reader.join();
+
+        assertTrue(failures.toString(), failures.isEmpty());
+        assertEquals(writers * perWriter, ref.get().size());
+    }
+
+    private static final class Collision {
+
+        final int id;
+
+        Collision(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Collision && ((Collision) other).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    private static final class Other {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Other;
+        }
+
+        @Override
+        public int hashCode() {
+            return 43;
+        }
+    }
+}
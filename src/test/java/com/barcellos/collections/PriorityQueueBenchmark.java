@@ -0,0 +1,109 @@
+package com.barcellos.collections;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.barcellos.collections.concurrent.RelaxedPriorityQueue;
+
+/**
+ * Vazão das filas de prioridade: {@code offer} seguido de {@code poll} em
+ * uma fila já cheia (regime estável de um escalonador), montagem com
+ * {@code addAll} e o mesmo par de operações com 4 threads nas filas
+ * concorrentes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriorityQueueBenchmark {
+
+    @State(Scope.Thread)
+    public static class Single {
+
+        @Param({ "PriorityQueue", "DaryHeapPriorityQueue" })
+        public String type;
+
+        @Param({ "100000" })
+        public int size;
+
+        public Queue<Integer> queue;
+        public Integer[] shuffled;
+
+        @Setup
+        public void setup() {
+            queue = newQueue(type);
+            Random random = new Random(42);
+            shuffled = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                shuffled[i] = random.nextInt();
+                queue.offer(shuffled[i]);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({ "PriorityBlockingQueue", "RelaxedPriorityQueue" })
+        public String type;
+
+        @Param({ "100000" })
+        public int size;
+
+        public Queue<Integer> queue;
+
+        @Setup
+        public void setup() {
+            queue = "RelaxedPriorityQueue".equals(type) ? new RelaxedPriorityQueue<>()
+                    : new PriorityBlockingQueue<>();
+            Random random = new Random(42);
+            for (int i = 0; i < size; i++) {
+                queue.offer(random.nextInt());
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer offerPoll(Single state) {
+        state.queue.offer(ThreadLocalRandom.current().nextInt());
+        return state.queue.poll();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Queue<Integer> addAll(Single state) {
+        Queue<Integer> queue = newQueue(state.type);
+        queue.addAll(Arrays.asList(state.shuffled));
+        return queue;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer concurrentOfferPoll(Shared state) {
+        state.queue.offer(ThreadLocalRandom.current().nextInt());
+        return state.queue.poll();
+    }
+
+    private static Queue<Integer> newQueue(String type) {
+        return "DaryHeapPriorityQueue".equals(type) ? new DaryHeapPriorityQueue<>() : new PriorityQueue<>();
+    }
+}
@@ -0,0 +1,80 @@
+package com.barcellos.collections.concurrent;
+
+import java.util.Stack;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vazão de pares push/pop com várias threads disputando a mesma pilha, nas
+ * opções thread-safe citadas no {@code CollectionTest} e nas deste pacote.
+ *
+ * O número de threads pode ser alterado com {@code -t}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrentCollectionsBenchmark {
+
+    private static final Integer ELEMENT = 42;
+
+    @Param({ "Vector", "Stack", "ConcurrentLinkedDeque", "TreiberStack", "ConcurrentArrayDeque" })
+    private String type;
+
+    private Vector<Integer> vector;
+    private Stack<Integer> stack;
+    private ConcurrentLinkedDeque<Integer> linkedDeque;
+    private TreiberStack<Integer> treiberStack;
+    private ConcurrentArrayDeque<Integer> arrayDeque;
+
+    @Setup
+    public void setup() {
+        vector = new Vector<>();
+        stack = new Stack<>();
+        linkedDeque = new ConcurrentLinkedDeque<>();
+        treiberStack = new TreiberStack<>();
+        arrayDeque = new ConcurrentArrayDeque<>();
+    }
+
+    @Benchmark
+    public Integer pushPop() {
+        switch (type) {
+            case "Vector":
+                vector.add(ELEMENT);
+                synchronized (vector) {
+                    return vector.isEmpty() ? null : vector.remove(vector.size() - 1);
+                }
+            case "Stack":
+                stack.push(ELEMENT);
+                synchronized (stack) {
+                    return stack.isEmpty() ? null : stack.pop();
+                }
+            case "ConcurrentLinkedDeque":
+                linkedDeque.push(ELEMENT);
+                return linkedDeque.pollFirst();
+            case "TreiberStack":
+                treiberStack.push(ELEMENT);
+                return treiberStack.poll();
+            default:
+                arrayDeque.push(ELEMENT);
+                return arrayDeque.pollFirst();
+        }
+    }
+}
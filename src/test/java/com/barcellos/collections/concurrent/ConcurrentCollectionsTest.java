@@ -0,0 +1,180 @@
+package com.barcellos.collections.concurrent;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+public class ConcurrentCollectionsTest {
+
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 20_000;
+
+    @Test
+    public void givenTreiberStack_whenPushedAndPopped_thenLifoOrder() {
+        TreiberStack<String> stack = new TreiberStack<>();
+        stack.push("a");
+        stack.push("b");
+        stack.add("c");
+
+        assertEquals(3, stack.size());
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(stack));
+        assertEquals("c", stack.peek());
+        assertEquals("c", stack.pop());
+        assertEquals("b", stack.poll());
+        assertEquals("a", stack.pop());
+        assertNull(stack.poll());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void givenTreiberStack_whenUsedConcurrently_thenNothingLostOrDuplicated() throws InterruptedException {
+        TreiberStack<Integer> stack = new TreiberStack<>();
+        assertNoLoss(stack::push, stack::poll);
+    }
+
+    @Test
+    public void givenDeque_whenUsedLikeArrayDeque_thenSameResults() {
+        Deque<Integer> expected = new ArrayDeque<>();
+        Deque<Integer> deque = new ConcurrentArrayDeque<>(2);
+        Random random = new Random(19);
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(50);
+            switch (random.nextInt(8)) {
+                case 0:
+                    expected.addFirst(value);
+                    deque.addFirst(value);
+                    break;
+                case 1:
+                    expected.addLast(value);
+                    deque.addLast(value);
+                    break;
+                case 2:
+                    assertEquals(expected.pollFirst(), deque.pollFirst());
+                    break;
+                case 3:
+                    assertEquals(expected.pollLast(), deque.pollLast());
+                    break;
+                case 4:
+                    assertEquals(expected.removeFirstOccurrence(value), deque.removeFirstOccurrence(value));
+                    break;
+                case 5:
+                    assertEquals(expected.removeLastOccurrence(value), deque.removeLastOccurrence(value));
+                    break;
+                case 6:
+                    assertEquals(expected.peekLast(), deque.peekLast());
+                    break;
+                default:
+                    assertEquals(expected.contains(value), deque.contains(value));
+            }
+            assertEquals(expected.size(), deque.size());
+        }
+        assertArrayEquals(expected.toArray(), deque.toArray());
+
+        List<Integer> descending = new ArrayList<>();
+        expected.descendingIterator().forEachRemaining(descending::add);
+        List<Integer> actual = new ArrayList<>();
+        deque.descendingIterator().forEachRemaining(actual::add);
+        assertEquals(descending, actual);
+    }
+
+    @Test
+    public void givenDeque_whenIteratorRemoves_thenElementIsRemoved() {
+        ConcurrentArrayDeque<String> deque = new ConcurrentArrayDeque<>();
+        deque.addAll(Arrays.asList("a", "b", "c"));
+
+        Iterator<String> iterator = deque.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+
+        assertEquals(Arrays.asList("a", "c"), new ArrayList<>(deque));
+        assertTrue(deque.removeIf("a"::equals));
+        assertFalse(deque.contains("a"));
+        assertEquals("c", deque.pop());
+    }
+
+    @Test
+    public void givenDeque_whenUsedConcurrentlyAsStack_thenNothingLostOrDuplicated() throws InterruptedException {
+        ConcurrentArrayDeque<Integer> deque = new ConcurrentArrayDeque<>();
+        assertNoLoss(deque::push, deque::poll);
+    }
+
+    @Test
+    public void givenDeque_whenUsedConcurrentlyAsQueue_thenNothingLostOrDuplicated() throws InterruptedException {
+        ConcurrentArrayDeque<Integer> deque = new ConcurrentArrayDeque<>();
+        assertNoLoss(deque::offerLast, deque::pollFirst);
+    }
+
+    /**
+     * Cada thread insere e remove alternadamente; no fim, o que foi removido
+     * mais o que sobrou deve ser exatamente o que foi inserido.
+     */
+    private static void assertNoLoss(Consumer<Integer> insert, Supplier<Integer> remove)
+            throws InterruptedException {
+        Set<Integer> removed = ConcurrentHashMap.newKeySet();
+        List<Integer> duplicates = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int base = t * PER_THREAD;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < PER_THREAD; i++) {
+                    insert.accept(base + i);
+                    if (i % 3 != 0) {
+                        Integer value = remove.get();
+                        if (value != null && !removed.add(value)) {
+                            synchronized (duplicates) {
+                                duplicates.add(value);
+                            }
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Integer value;
+        while ((value = remove.get()) != null) {
+            if (!removed.add(value)) {
+                duplicates.add(value);
+            }
+        }
+
+        assertTrue(duplicates.isEmpty());
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < THREADS * PER_THREAD; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, removed);
+    }
+}
@@ -0,0 +1,136 @@
+package com.barcellos.collections.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class RelaxedPriorityQueueTest {
+
+    @Test
+    public void givenSingleShard_whenPolled_thenExactOrder() {
+        RelaxedPriorityQueue<Integer> queue = new RelaxedPriorityQueue<>(1, null);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(2));
+        queue.addAll(values);
+
+        assertEquals(1_000, queue.size());
+        assertEquals(Integer.valueOf(0), queue.peek());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void givenManyShards_whenDrained_thenNearlySorted() {
+        int shards = 8;
+        int count = 10_000;
+        RelaxedPriorityQueue<Integer> queue = new RelaxedPriorityQueue<>(shards, null);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(4));
+        values.forEach(queue::offer);
+
+        List<Integer> drained = new ArrayList<>();
+        Integer value;
+        while ((value = queue.poll()) != null) {
+            drained.add(value);
+        }
+        assertEquals(count, drained.size());
+
+        long totalError = 0;
+        for (int i = 0; i < count; i++) {
+            totalError += Math.abs(drained.get(i) - i);
+        }
+        // Erro médio de posição da ordem de grandeza do número de heaps.
+        assertTrue("mean rank error " + totalError / count, totalError / count < 4 * shards);
+    }
+
+    @Test
+    public void givenQueue_whenUsedAsCollection_thenQueueSemantics() {
+        RelaxedPriorityQueue<String> queue = new RelaxedPriorityQueue<>(4, null);
+        queue.addAll(Arrays.asList("c", "a", "b"));
+
+        assertTrue(queue.contains("a"));
+        assertTrue(queue.remove("a"));
+        assertEquals(2, queue.size());
+        List<String> iterated = new ArrayList<>(queue);
+        Collections.sort(iterated);
+        assertEquals(Arrays.asList("b", "c"), iterated);
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+    }
+
+    @Test
+    public void givenProducersAndConsumers_whenRunConcurrently_thenNothingLostOrDuplicated()
+            throws InterruptedException {
+        int threads = 4;
+        int perThread = 20_000;
+        RelaxedPriorityQueue<Integer> queue = new RelaxedPriorityQueue<>();
+        ConcurrentHashMap<Integer, Boolean> taken = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger produced = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers.add(new Thread(() -> {
+                await(start);
+                for (int i = 0; i < perThread; i++) {
+                    queue.offer(base + i);
+                    produced.incrementAndGet();
+                }
+            }));
+            workers.add(new Thread(() -> {
+                await(start);
+                while (taken.size() < threads * perThread) {
+                    Integer value = queue.poll();
+                    if (value != null && taken.put(value, Boolean.TRUE) != null) {
+                        duplicates.incrementAndGet();
+                    }
+                    if (value == null && produced.get() == threads * perThread && queue.isEmpty()) {
+                        return;
+                    }
+                }
+            }));
+        }
+
+        workers.forEach(Thread::start);
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(threads * perThread, taken.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.barcellos.collections.offheap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara put, get e remove do {@link OffHeapStringMap} com o
+ * {@code HashMap<String, Object>} do {@code CollectionTest} e com o
+ * {@link ConcurrentHashMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffHeapStringMapBenchmark {
+
+    @Param({ "100000" })
+    private int size;
+
+    private String[] keys;
+    private String[] values;
+
+    private Map<String, String> hashMap;
+    private Map<String, String> concurrentHashMap;
+    private OffHeapStringMap<String> offHeapMap;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        keys = new String[size];
+        values = new String[size];
+        hashMap = new HashMap<>();
+        concurrentHashMap = new ConcurrentHashMap<>();
+        offHeapMap = new OffHeapStringMap<>(ValueCodec.STRING, size, OffHeapStringMap.DEFAULT_SEGMENTS);
+        for (int i = 0; i < size; i++) {
+            keys[i] = "key" + i;
+            values[i] = "value" + i;
+            hashMap.put(keys[i], values[i]);
+            concurrentHashMap.put(keys[i], values[i]);
+            offHeapMap.put(keys[i], values[i]);
+        }
+
+        // Consulta em ordem aleatória, e não na ordem de inserção.
+        Random random = new Random(20);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            String value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        offHeapMap.close();
+    }
+
+    @Benchmark
+    public int hashMapGet() {
+        int found = 0;
+        for (String key : keys) {
+            found += hashMap.get(key) != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int concurrentHashMapGet() {
+        int found = 0;
+        for (String key : keys) {
+            found += concurrentHashMap.get(key) != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int offHeapGet() {
+        int found = 0;
+        for (String key : keys) {
+            found += offHeapMap.get(key) != null ? 1 : 0;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int hashMapPutRemove() {
+        for (int i = 0; i < size; i += 2) {
+            hashMap.remove(keys[i]);
+            hashMap.put(keys[i], values[i]);
+        }
+        return hashMap.size();
+    }
+
+    @Benchmark
+    public int concurrentHashMapPutRemove() {
+        for (int i = 0; i < size; i += 2) {
+            concurrentHashMap.remove(keys[i]);
+            concurrentHashMap.put(keys[i], values[i]);
+        }
+        return concurrentHashMap.size();
+    }
+
+    @Benchmark
+    public long offHeapPutRemove() {
+        for (int i = 0; i < size; i += 2) {
+            offHeapMap.remove(keys[i]);
+            offHeapMap.put(keys[i], values[i]);
+        }
+        return offHeapMap.size();
+    }
+}
@@ -0,0 +1,101 @@
+package com.barcellos.collections.offheap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class OffHeapStringMapTest {
+
+    @Test
+    public void givenRandomOperations_whenComparedWithHashMap_thenSameContent() {
+        Map<String, String> expected = new HashMap<>();
+        Random random = new Random(20);
+
+        try (OffHeapStringMap<String> map = new OffHeapStringMap<>(ValueCodec.STRING, 4, 4)) {
+            for (int i = 0; i < 50_000; i++) {
+                String key = "key" + random.nextInt(5_000);
+                switch (random.nextInt(4)) {
+                    case 0:
+                    case 1:
+                        String value = "value" + i + "ção";
+                        assertEquals(!expected.containsKey(key), map.put(key, value));
+                        expected.put(key, value);
+                        break;
+                    case 2:
+                        assertEquals(expected.remove(key) != null, map.remove(key));
+                        break;
+                    default:
+                        assertEquals(expected.get(key), map.get(key));
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            Map<String, String> actual = new HashMap<>();
+            map.forEach(actual::put);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void givenLongValues_whenStored_thenReadBack() {
+        try (OffHeapStringMap<Long> map = new OffHeapStringMap<>(ValueCodec.LONG)) {
+            map.put("answer", 42L);
+            map.put("answer", -1L);
+            map.put("", Long.MAX_VALUE);
+
+            assertEquals(Long.valueOf(-1), map.get("answer"));
+            assertEquals(Long.valueOf(Long.MAX_VALUE), map.get(""));
+            assertTrue(map.containsKey(""));
+            assertFalse(map.containsKey("missing"));
+            assertNull(map.get("missing"));
+            assertTrue(map.offHeapBytes() > 0);
+        }
+    }
+
+    @Test
+    public void givenConcurrentReadersAndWriters_whenDone_thenAllWritesVisible() throws InterruptedException {
+        try (OffHeapStringMap<Long> map = new OffHeapStringMap<>(ValueCodec.LONG, 16, 8)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long base = t * 10_000L;
+                Thread thread = new Thread(() -> {
+                    for (long i = base; i < base + 10_000; i++) {
+                        map.put("k" + i, i);
+                        Long read = map.get("k" + (i - base / 2));
+                        if (read != null && !read.equals(i - base / 2)) {
+                            throw new AssertionError("wrong value for k" + (i - base / 2));
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(40_000, map.size());
+            for (long i = 0; i < 40_000; i++) {
+                assertEquals(Long.valueOf(i), map.get("k" + i));
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenClosedMap_whenReading_thenIllegalState() {
+        OffHeapStringMap<String> map = new OffHeapStringMap<>(ValueCodec.STRING);
+        map.put("a", "b");
+        map.close();
+        map.close();
+        map.get("a");
+    }
+}
@@ -0,0 +1,218 @@
+package com.barcellos.collections.primitive;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara as coleções primitivas com as coleções do JDK usadas no
+ * {@code CollectionTest}, com idades como chaves e valores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveCollectionsBenchmark {
+
+    @Param({ "100000" })
+    private int size;
+
+    private int[] values;
+    private String[] names;
+
+    private List<Integer> arrayList;
+    private IntArrayList intArrayList;
+    private Set<Integer> hashSet;
+    private IntHashSet intHashSet;
+    private Map<String, Integer> stringToInteger;
+    private Object2IntOpenHashMap<String> object2Int;
+    private Map<Integer, String> integerToString;
+    private Int2ObjectOpenHashMap<String> int2Object;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new int[size];
+        names = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(size * 4);
+            names[i] = "name" + values[i];
+        }
+
+        arrayList = buildArrayList();
+        intArrayList = buildIntArrayList();
+        hashSet = buildHashSet();
+        intHashSet = buildIntHashSet();
+        stringToInteger = buildHashMapStringToInteger();
+        object2Int = buildObject2IntMap();
+        integerToString = buildHashMapIntegerToString();
+        int2Object = buildInt2ObjectMap();
+    }
+
+    @Benchmark
+    public List<Integer> buildArrayList() {
+        List<Integer> list = new ArrayList<>();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public IntArrayList buildIntArrayList() {
+        IntArrayList list = new IntArrayList();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long iterateArrayList() {
+        long sum = 0;
+        for (int value : arrayList) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateIntArrayList() {
+        long sum = 0;
+        for (int i = 0, n = intArrayList.size(); i < n; i++) {
+            sum += intArrayList.getInt(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Set<Integer> buildHashSet() {
+        Set<Integer> set = new HashSet<>();
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public IntHashSet buildIntHashSet() {
+        IntHashSet set = new IntHashSet();
+        for (int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public int containsHashSet() {
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            if (hashSet.contains(i)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int containsIntHashSet() {
+        int found = 0;
+        for (int i = 0; i < size; i++) {
+            if (intHashSet.contains(i)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Map<String, Integer> buildHashMapStringToInteger() {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(names[i], values[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Object2IntOpenHashMap<String> buildObject2IntMap() {
+        Object2IntOpenHashMap<String> map = new Object2IntOpenHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(names[i], values[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public long getHashMapStringToInteger() {
+        long sum = 0;
+        for (String name : names) {
+            sum += stringToInteger.get(name);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long getObject2IntMap() {
+        long sum = 0;
+        for (String name : names) {
+            sum += object2Int.getInt(name);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Map<Integer, String> buildHashMapIntegerToString() {
+        Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(values[i], names[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Int2ObjectOpenHashMap<String> buildInt2ObjectMap() {
+        Int2ObjectOpenHashMap<String> map = new Int2ObjectOpenHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(values[i], names[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public int getHashMapIntegerToString() {
+        int length = 0;
+        for (int value : values) {
+            length += integerToString.get(value).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int getInt2ObjectMap() {
+        int length = 0;
+        for (int value : values) {
+            length += int2Object.get(value).length();
+        }
+        return length;
+    }
+}
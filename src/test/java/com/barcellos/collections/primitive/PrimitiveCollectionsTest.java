@@ -0,0 +1,188 @@
+package com.barcellos.collections.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Compara as coleções primitivas com as equivalentes do JDK sob a mesma
+ * sequência aleatória de operações.
+ */
+public class PrimitiveCollectionsTest {
+
+    @Test
+    public void intArrayList_behavesLikeArrayList() {
+        IntArrayList list = new IntArrayList();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(100);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    list.add(value);
+                    expected.add(value);
+                    break;
+                case 2:
+                    if (!expected.isEmpty()) {
+                        int index = random.nextInt(expected.size());
+                        assertEquals((int) expected.remove(index), list.removeAt(index));
+                    }
+                    break;
+                default:
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, value);
+                    expected.add(index, value);
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.hashCode(), list.hashCode());
+        assertEquals(expected.toString(), list.toString());
+        assertEquals(expected.indexOf(42), list.indexOf(42));
+
+        List<Integer> iterated = new ArrayList<>();
+        list.iterator().forEachRemaining((int v) -> iterated.add(v));
+        assertEquals(expected, iterated);
+        assertEquals(expected.stream().mapToInt(Integer::intValue).sum(), list.stream().sum());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void intArrayList_whenIndexOutOfBounds_thenThrows() {
+        IntArrayList.of(1, 2, 3).getInt(3);
+    }
+
+    @Test
+    public void intHashSet_behavesLikeHashSet() {
+        IntHashSet set = new IntHashSet(4);
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(2);
+
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+
+        for (int value = -1_000; value < 1_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+        assertEquals(expected.hashCode(), set.hashCode());
+
+        Set<Integer> iterated = new HashSet<>();
+        set.forEach((int v) -> assertTrue(iterated.add(v)));
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    public void intHashSet_whenZero_thenStoredApart() {
+        IntHashSet set = IntHashSet.of(0, 1, 0);
+
+        assertEquals(2, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        assertEquals(IntHashSet.of(1), set);
+    }
+
+    @Test
+    public void object2IntMap_behavesLikeHashMap() {
+        Object2IntOpenHashMap<String> map = new Object2IntOpenHashMap<>();
+        map.defaultReturnValue(-1);
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 20_000; i++) {
+            int n = random.nextInt(500);
+            String key = n == 0 ? null : "k" + n;
+            int value = random.nextInt();
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? -1 : removed, map.removeInt(key));
+            } else {
+                Integer previous = expected.put(key, value);
+                assertEquals(previous == null ? -1 : previous, map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (int n = 0; n < 500; n++) {
+            String key = n == 0 ? null : "k" + n;
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals((int) expected.getOrDefault(key, -1), map.getInt(key));
+        }
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        Map<String, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    public void object2IntMap_whenAddTo_thenCounts() {
+        Object2IntOpenHashMap<String> counts = new Object2IntOpenHashMap<>();
+        for (String word : Arrays.asList("a", "b", "a", "c", "a")) {
+            counts.addTo(word, 1);
+        }
+
+        assertEquals(3, counts.getInt("a"));
+        assertEquals(1, counts.getInt("b"));
+        assertEquals(0, counts.getInt("z"));
+    }
+
+    @Test
+    public void int2ObjectMap_behavesLikeHashMap() {
+        Int2ObjectOpenHashMap<String> map = new Int2ObjectOpenHashMap<>(2);
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(4);
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(1_000) - 500;
+            String value = "v" + random.nextInt(10);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (int key = -500; key < 500; key++) {
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        Map<Integer, String> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+
+    @Test
+    public void int2ObjectMap_whenComputeIfAbsent_thenComputedOnce() {
+        Int2ObjectOpenHashMap<List<String>> map = new Int2ObjectOpenHashMap<>();
+
+        map.computeIfAbsent(0, k -> new ArrayList<>()).add("a");
+        map.computeIfAbsent(0, k -> new ArrayList<>()).add("b");
+
+        assertEquals(Arrays.asList("a", "b"), map.get(0));
+        assertNull(map.get(1));
+    }
+}
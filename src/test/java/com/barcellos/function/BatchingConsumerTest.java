@@ -0,0 +1,117 @@
+package com.barcellos.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class BatchingConsumerTest {
+
+    @Test
+    public void givenManyProducers_whenClosed_thenEveryElementDeliveredOnce() {
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        try (BatchingConsumer<Integer> consumer = new BatchingConsumer<>(batch -> {
+            batchSizes.add(batch.size());
+            received.addAll(batch);
+        }, 64, 16, BatchingConsumer.Backpressure.BLOCK)) {
+            IntStream.range(0, 100_000).boxed().parallel().forEach(consumer);
+        }
+
+        assertEquals(100_000, received.size());
+        assertEquals(100_000, received.stream().distinct().count());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 16));
+    }
+
+    @Test
+    public void givenSingleProducer_whenFlushed_thenDeliveredInOrder() {
+        List<Integer> received = new ArrayList<>();
+        BatchingConsumer<Integer> consumer = new BatchingConsumer<>(received::addAll, 8, 4,
+                BatchingConsumer.Backpressure.BLOCK);
+        for (int i = 0; i < 1_000; i++) {
+            consumer.accept(i);
+        }
+        consumer.flush();
+
+        assertEquals(1_000, consumer.deliveredCount());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(Integer.valueOf(i), received.get(i));
+        }
+        consumer.close();
+    }
+
+    @Test
+    public void givenFullBuffer_whenDropping_thenExcessIsCounted() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        BatchingConsumer<Integer> consumer = new BatchingConsumer<>(batch -> {
+            awaitQuietly(release);
+            received.addAll(batch);
+        }, 4, 1, BatchingConsumer.Backpressure.DROP);
+
+        for (int i = 0; i < 100; i++) {
+            consumer.accept(i);
+        }
+        release.countDown();
+        consumer.close();
+
+        assertTrue(consumer.droppedCount() > 0);
+        assertEquals(100, received.size() + consumer.droppedCount());
+    }
+
+    @Test
+    public void givenFullBuffer_whenSpilling_thenNothingIsLost() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        BatchingConsumer<Integer> consumer = new BatchingConsumer<>(batch -> {
+            awaitQuietly(release);
+            received.addAll(batch);
+        }, 4, 2, BatchingConsumer.Backpressure.SPILL);
+
+        for (int i = 0; i < 100; i++) {
+            consumer.accept(i);
+        }
+        release.countDown();
+        consumer.close();
+
+        assertEquals(0, consumer.droppedCount());
+        assertEquals(100, received.stream().distinct().count());
+    }
+
+    @Test
+    public void givenFailingSink_whenClosed_thenFailureIsReported() {
+        BatchingConsumer<String> consumer = new BatchingConsumer<>(batch -> {
+            throw new IllegalArgumentException("boom");
+        }, 4, 4, BatchingConsumer.Backpressure.BLOCK);
+        consumer.accept("a");
+
+        try {
+            consumer.close();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("boom", e.getCause().getMessage());
+        }
+        try {
+            consumer.accept("b");
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("BatchingConsumer is closed", e.getMessage());
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.barcellos.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+public class CachedClockTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    /**
+     * Relógio controlado pelo teste.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+        private final ZoneId zone;
+
+        MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @Test
+    public void givenSystemClock_whenFormatting_thenSameAsFormatter() {
+        Clock clock = Clock.systemDefaultZone();
+        Supplier<String> supplier = CachedClock.minutes(clock).formattedSupplier();
+
+        String before = FORMATTER.format(LocalDateTime.now(clock));
+        String cached = supplier.get();
+        String after = FORMATTER.format(LocalDateTime.now(clock));
+
+        // A chamada pode cair numa virada de minuto
+        assertTrue(cached.equals(before) || cached.equals(after));
+        assertEquals(LocalDate.now(clock), CachedClock.minutes(clock).dateSupplier().get());
+    }
+
+    @Test
+    public void givenSameMinute_whenReading_thenCachedValueIsReused() {
+        MutableClock clock = new MutableClock(Instant.parse("2022-03-10T10:15:30Z"), ZoneOffset.UTC);
+        CachedClock cachedClock = CachedClock.minutes(clock);
+
+        String first = cachedClock.formatted();
+        clock.advance(Duration.ofSeconds(29));
+        String second = cachedClock.formatted();
+
+        assertEquals("2022-03-10 10:15", first);
+        assertSame(first, second);
+    }
+
+    @Test
+    public void givenMinuteBoundary_whenReading_thenRefreshed() {
+        MutableClock clock = new MutableClock(Instant.parse("2022-03-10T23:59:59.999Z"), ZoneOffset.UTC);
+        CachedClock cachedClock = CachedClock.minutes(clock);
+
+        assertEquals("2022-03-10 23:59", cachedClock.formatted());
+        assertEquals(LocalDate.of(2022, 3, 10), cachedClock.today());
+
+        clock.advance(Duration.ofMillis(1));
+
+        assertEquals("2022-03-11 00:00", cachedClock.formatted());
+        assertEquals(LocalDate.of(2022, 3, 11), cachedClock.today());
+        assertEquals(LocalDateTime.of(2022, 3, 11, 0, 0), cachedClock.now());
+    }
+
+    @Test
+    public void givenClockGoingBackwards_whenReading_thenRefreshed() {
+        MutableClock clock = new MutableClock(Instant.parse("2022-03-10T10:15:00Z"), ZoneOffset.UTC);
+        CachedClock cachedClock = CachedClock.minutes(clock);
+        cachedClock.formatted();
+
+        clock.advance(Duration.ofMinutes(-1));
+
+        assertEquals("2022-03-10 10:14", cachedClock.formatted());
+    }
+
+    @Test
+    public void givenTimeZone_whenFormatting_thenUsesClockZone() {
+        MutableClock clock = new MutableClock(Instant.parse("2022-03-10T10:15:00Z"), ZoneId.of("America/Sao_Paulo"));
+
+        assertEquals("2022-03-10 07:15", CachedClock.minutes(clock).formatted());
+    }
+}
@@ -0,0 +1,124 @@
+package com.barcellos.function;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara a cadeia {@code andThen} com boxing do
+ * {@link FuncionalInterfacesTest} com o {@link IntPipeline}: uma cadeia curta
+ * a partir de {@code parseInt}, em que o custo é quase todo do parsing, e uma
+ * cadeia longa, de 12 etapas aritméticas sobre {@code String::length}, em que
+ * pesa o custo de cada etapa. A cadeia longa também é medida guardada em
+ * campos {@code static final}, em que o receptor é constante para o JIT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionBenchmark {
+
+    private static final Function<String, Integer> CONSTANT_BOXED_LONG_CHAIN = boxedLongChain();
+    private static final ToIntFunction<String> CONSTANT_LONG_PIPELINE = longPipeline();
+
+    private String[] values;
+
+    private Function<String, Integer> boxedChain;
+    private ToIntFunction<String> pipeline;
+    private Function<String, Integer> boxedLongChain;
+    private ToIntFunction<String> longPipeline;
+
+    @Setup
+    public void setUp() {
+        values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = String.valueOf(i);
+        }
+
+        Function<String, Integer> toInteger = Integer::valueOf;
+        boxedChain = toInteger.andThen(n -> n * 3).andThen(n -> n + 7).andThen(n -> n ^ 0x55);
+        pipeline = Functions.<String>pipeline(Integer::parseInt).map(n -> n * 3).map(n -> n + 7).map(n -> n ^ 0x55);
+        boxedLongChain = boxedLongChain();
+        longPipeline = longPipeline();
+    }
+
+    private static Function<String, Integer> boxedLongChain() {
+        Function<String, Integer> length = String::length;
+        return length.andThen(n -> n * 3).andThen(n -> n + 7).andThen(n -> n ^ 0x55).andThen(n -> n << 1)
+                .andThen(n -> n - 11).andThen(n -> n * 5).andThen(n -> n >>> 1).andThen(n -> n + 13)
+                .andThen(n -> n ^ 0x3C).andThen(n -> n * 7).andThen(n -> n - 17).andThen(n -> n & 0xFFFF);
+    }
+
+    private static ToIntFunction<String> longPipeline() {
+        return Functions.<String>pipeline(String::length).map(n -> n * 3).map(n -> n + 7).map(n -> n ^ 0x55)
+                .map(n -> n << 1).map(n -> n - 11).map(n -> n * 5).map(n -> n >>> 1).map(n -> n + 13)
+                .map(n -> n ^ 0x3C).map(n -> n * 7).map(n -> n - 17).map(n -> n & 0xFFFF);
+    }
+
+    @Benchmark
+    public long boxedAndThen() {
+        long sum = 0;
+        for (String value : values) {
+            sum += boxedChain.apply(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intPipeline() {
+        long sum = 0;
+        for (String value : values) {
+            sum += pipeline.applyAsInt(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long boxedAndThenLongChain() {
+        long sum = 0;
+        for (String value : values) {
+            sum += boxedLongChain.apply(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intPipelineLongChain() {
+        long sum = 0;
+        for (String value : values) {
+            sum += longPipeline.applyAsInt(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long boxedAndThenLongChainConstant() {
+        long sum = 0;
+        for (String value : values) {
+            sum += CONSTANT_BOXED_LONG_CHAIN.apply(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intPipelineLongChainConstant() {
+        long sum = 0;
+        for (String value : values) {
+            sum += CONSTANT_LONG_PIPELINE.applyAsInt(value);
+        }
+        return sum;
+    }
+}
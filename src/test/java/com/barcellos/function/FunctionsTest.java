@@ -0,0 +1,175 @@
+package com.barcellos.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+public class FunctionsTest {
+
+    @Test
+    public void givenMemoizedFunction_whenComposed_thenComputedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        MemoizedFunction<String, Integer> toInteger = Functions.memoize(s -> {
+            calls.incrementAndGet();
+            return Integer.valueOf(s);
+        }, CacheSpec.of(100));
+        Function<String, String> backToString = toInteger.andThen(String::valueOf);
+
+        assertEquals("123", backToString.apply("123"));
+        assertEquals("123", backToString.apply("123"));
+
+        assertEquals(1, calls.get());
+        assertEquals(1, toInteger.stats().hitCount());
+        assertEquals(1, toInteger.stats().missCount());
+    }
+
+    @Test
+    public void givenFailingFunction_whenApplied_thenExceptionIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        MemoizedFunction<String, Integer> parse = Functions.memoize(s -> {
+            calls.incrementAndGet();
+            return Integer.valueOf(s);
+        }, CacheSpec.of(100));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                parse.apply("abc");
+                fail();
+            } catch (NumberFormatException expected) {
+            }
+        }
+
+        assertEquals(2, calls.get());
+        assertEquals(0, parse.estimatedSize());
+    }
+
+    /**
+     * Com LRU, 100 chaves populares intercaladas com uma varredura não caberiam
+     * em um cache de 100 entradas e nenhuma leitura seria acerto.
+     */
+    @Test
+    public void givenFullCache_whenScanning_thenPopularKeysSurvive() {
+        MemoizedFunction<Integer, Integer> square = Functions.memoize(n -> n * n, CacheSpec.of(100));
+
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 0; hot < 100; hot++) {
+                square.apply(hot);
+            }
+        }
+
+        long hitsBefore = square.stats().hitCount();
+        for (int cold = 0; cold < 10_000; cold++) {
+            square.apply(1_000 + cold);
+            square.apply(cold % 100);
+        }
+        long hotHits = square.stats().hitCount() - hitsBefore;
+
+        assertTrue(square.estimatedSize() <= 100);
+        assertTrue("hot hits: " + hotHits, hotHits >= 9_000);
+    }
+
+    @Test
+    public void givenFullCache_whenKeyBecomesPopular_thenItIsAdmitted() {
+        MemoizedFunction<Integer, Integer> identity = Functions.memoize(n -> n, CacheSpec.of(10));
+        for (int i = 0; i < 10; i++) {
+            identity.apply(i);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            identity.apply(42);
+        }
+
+        long hitsBefore = identity.stats().hitCount();
+        identity.apply(42);
+        assertEquals(hitsBefore + 1, identity.stats().hitCount());
+        assertEquals(10, identity.estimatedSize());
+        assertTrue(identity.stats().evictionCount() >= 1);
+    }
+
+    @Test
+    public void givenExpireAfterWrite_whenTimePasses_thenRecomputed() {
+        AtomicLong now = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        MemoizedFunction<String, String> upper = Functions.memoize(s -> {
+            calls.incrementAndGet();
+            return s.toUpperCase();
+        }, CacheSpec.of(10).withExpireAfterWrite(Duration.ofSeconds(1)).withTicker(now::get));
+
+        upper.apply("a");
+        now.addAndGet(Duration.ofMillis(999).toNanos());
+        upper.apply("a");
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+        upper.apply("a");
+
+        assertEquals(2, calls.get());
+        assertEquals(1, upper.stats().evictionCount());
+    }
+
+    @Test
+    public void givenNullKeyAndValue_whenApplied_thenCached() {
+        AtomicInteger calls = new AtomicInteger();
+        MemoizedFunction<String, String> function = Functions.memoize(s -> {
+            calls.incrementAndGet();
+            return null;
+        }, CacheSpec.of(10));
+
+        function.apply(null);
+        function.apply(null);
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void givenIntPipeline_whenApplied_thenSameAsAndThenChain() {
+        Function<String, Integer> toInteger = Integer::valueOf;
+        Function<String, String> expected = toInteger.andThen(n -> n * 2).andThen(n -> n - 1).andThen(String::valueOf);
+
+        IntPipeline<String> pipeline = Functions.<String>pipeline(Integer::parseInt).map(n -> n * 2).map(n -> n - 1);
+        Function<String, String> backToString = pipeline.mapToObj(String::valueOf);
+
+        for (String value : new String[] { "0", "123", "-45", "1000000" }) {
+            assertEquals(expected.apply(value), backToString.apply(value));
+        }
+        assertEquals(2, pipeline.stageCount());
+        assertEquals(Integer.valueOf(245), pipeline.boxed().apply("123"));
+        assertTrue(pipeline.test(n -> n > 0).test("1"));
+    }
+
+    @Test
+    public void givenIntPipeline_whenMapped_thenOriginalIsUnchanged() {
+        IntPipeline<String> length = Functions.<String>pipeline(String::length);
+        IntPipeline<String> doubled = length.map(n -> n * 2);
+
+        assertEquals(3, length.applyAsInt("abc"));
+        assertEquals(6, doubled.applyAsInt("abc"));
+        assertEquals(0, length.stageCount());
+    }
+
+    @Test
+    public void givenPrimitiveTransitions_whenApplied_thenSameAsAndThenChain() {
+        Function<String, Integer> length = String::length;
+        Function<String, String> expected = length.andThen(n -> n * 1_000_000_000L).andThen(n -> n / 3.0)
+                .andThen(d -> (int) Math.round(d)).andThen(String::valueOf);
+
+        Function<String, String> pipeline = Functions.<String>pipeline(String::length)
+                .mapToLong(n -> n * 1_000_000_000L)
+                .mapToDouble(n -> n / 3.0)
+                .mapToInt(d -> (int) Math.round(d))
+                .mapToObj(String::valueOf);
+
+        for (String value : new String[] { "", "a", "abcdef" }) {
+            assertEquals(expected.apply(value), pipeline.apply(value));
+        }
+        assertEquals(Long.valueOf(7L), Functions.<String>longPipeline(Long::parseLong).map(n -> n + 2).boxed().apply("5"));
+        assertTrue(Functions.<String>doublePipeline(Double::parseDouble).test(d -> d > 0.5).test("0.75"));
+        assertEquals(2, Functions.<String>doublePipeline(Double::parseDouble).mapToLong(Math::round).map(n -> n * 2)
+                .stageCount());
+    }
+}
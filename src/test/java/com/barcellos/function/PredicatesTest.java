@@ -0,0 +1,109 @@
+package com.barcellos.function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+public class PredicatesTest {
+
+    @Test
+    public void givenNestedTree_whenCompiled_thenSameResultAsPredicateComposition() {
+        Predicate<Integer> even = i -> i % 2 == 0;
+        Predicate<Integer> positive = i -> i > 0;
+        Predicate<Integer> small = i -> Math.abs(i) < 50;
+        Predicate<Integer> multipleOfThree = i -> i % 3 == 0;
+
+        Predicate<Integer> expected = even.and(positive.or(small.negate()))
+                .negate()
+                .or(multipleOfThree.and(small));
+        CompiledPredicate<Integer> compiled = Predicates.clause("even", even)
+                .and(Predicates.clause("positive", positive).or(Predicates.clause("small", small).negate()))
+                .negate()
+                .or(Predicates.clause("multipleOfThree", multipleOfThree).and(Predicates.clause("small", small)))
+                .compile();
+
+        Random random = new Random(14);
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(200) - 100;
+            assertEquals(expected.test(value), compiled.test(value));
+        }
+    }
+
+    @Test
+    public void givenNegatedConjunction_whenCompiled_thenFlattenedByDeMorgan() {
+        Condition<String> condition = Predicates.<String>clause("a", s -> s.contains("a"))
+                .and(Predicates.<String>clause("b", s -> s.contains("b")).and(Predicates.clause("c", s -> s.contains("c"))))
+                .negate();
+
+        assertEquals("(!a || !b || !c)", condition.compile().toString());
+        assertEquals("a", Predicates.<String>clause("a", s -> true).negate().negate().compile().toString());
+    }
+
+    @Test
+    public void givenSelectiveCheapClause_whenEvaluatedManyTimes_thenEvaluatedFirst() {
+        AtomicInteger expensiveCalls = new AtomicInteger();
+        CompiledPredicate<Integer> compiled = Predicates.<Integer>allOf(
+                Predicates.clause("expensive", i -> {
+                    expensiveCalls.incrementAndGet();
+                    return i % 2 == 0;
+                }, 100),
+                Predicates.clause("rare", i -> i % 100 == 0, 1))
+                .compile();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 100 == 0, compiled.test(i));
+        }
+
+        assertEquals("(rare && expensive)", compiled.toString());
+        assertTrue(expensiveCalls.get() < 2 * CompiledPredicate.REORDER_INTERVAL);
+
+        List<ClauseStats> stats = compiled.stats();
+        assertEquals("expensive", stats.get(0).getName());
+        assertTrue(stats.get(1).getEvaluations() > 9_000);
+        assertEquals(0.01, stats.get(1).getPassRate(), 0.001);
+    }
+
+    @Test
+    public void givenGuardClause_whenOrdered_thenNeverReorderedPastGuard() {
+        // Sem a guarda na frente, "startsWithA" lançaria NullPointerException.
+        Predicate<String> notNull = s -> s != null;
+        Predicate<String> startsWithA = s -> s.startsWith("a");
+        Predicate<String> expected = notNull.and(startsWithA).negate().or(s -> s != null && s.length() > 8);
+
+        Condition<String> guarded = Predicates.clause("notNull", notNull, 100)
+                .andThen(Predicates.clause("startsWithA", startsWithA, 1));
+        CompiledPredicate<String> compiled = Predicates.anyOf(guarded.negate(),
+                Predicates.allOfInOrder(Predicates.clause("notNull", notNull, 100),
+                        Predicates.clause("long", s -> s.length() > 8, 1)))
+                .compile();
+
+        Random random = new Random(15);
+        for (int i = 0; i < 20 * CompiledPredicate.REORDER_INTERVAL; i++) {
+            String value = random.nextInt(10) == 0 ? null : Integer.toString(random.nextInt(), 36);
+            assertEquals(expected.test(value), compiled.test(value));
+        }
+        assertEquals("([!notNull || !startsWithA] || [notNull && long])", compiled.toString());
+    }
+
+    @Test
+    public void givenOrderedGroups_whenNested_thenFlattenedOnlyWithOrderedGroups() {
+        Condition<String> a = Predicates.clause("a", s -> s.contains("a"));
+        Condition<String> b = Predicates.clause("b", s -> s.contains("b"));
+        Condition<String> c = Predicates.clause("c", s -> s.contains("c"));
+
+        assertEquals("[a && b && c]", a.andThen(b).andThen(c).compile().toString());
+        assertEquals("([a && b] && c)", a.andThen(b).and(c).compile().toString());
+        assertEquals("[a || (b && c)]", Predicates.anyOfInOrder(a, b.and(c)).compile().toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenNonPositiveCost_whenCreatingClause_thenIllegalArgument() {
+        Predicates.clause("free", o -> true, 0);
+    }
+}
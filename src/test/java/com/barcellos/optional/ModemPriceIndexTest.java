@@ -0,0 +1,75 @@
+package com.barcellos.optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class ModemPriceIndexTest {
+
+    private boolean priceIsInRange(Modem modem, double min, double max) {
+        return modem != null
+                && modem.hasPrice()
+                && modem.getPriceAsDouble() >= min
+                && modem.getPriceAsDouble() <= max;
+    }
+
+    @Test
+    public void whenIndexingModems_thenRangeMatchesSingleModemCheck() {
+        Random random = new Random(11);
+        List<Modem> modems = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int kind = random.nextInt(20);
+            modems.add(kind == 0 ? null : kind == 1 ? new Modem(null) : new Modem((double) random.nextInt(300) / 10));
+        }
+
+        ModemPriceIndex index = new ModemPriceIndex(modems);
+
+        for (int step = -2; step <= 62; step++) {
+            double min = step / 2.0;
+            double max = min + 5;
+            List<Modem> expected = modems.stream()
+                    .filter(m -> priceIsInRange(m, min, max))
+                    .collect(Collectors.toList());
+            List<Modem> found = index.inRange(min, max);
+
+            assertEquals(expected.size(), found.size());
+            assertEquals(expected.size(), index.count(min, max));
+            assertTrue(found.containsAll(expected));
+        }
+    }
+
+    @Test
+    public void givenBoundaries_whenExclusive_thenBoundsAreSkipped() {
+        Modem ten = new Modem(10.0);
+        Modem twelve = new Modem(12.0);
+        Modem fifteen = new Modem(15.0);
+        ModemPriceIndex index = new ModemPriceIndex(Arrays.asList(fifteen, ten, twelve));
+
+        assertEquals(Arrays.asList(ten, twelve, fifteen), index.inRange(10, 15));
+        assertEquals(Arrays.asList(twelve), index.inRange(10, false, 15, false));
+        assertEquals(Arrays.asList(ten, twelve), index.inRange(10, true, 15, false));
+        assertEquals(2, index.count(10, false, 15, true));
+        assertEquals(0, index.count(15, 10));
+        assertFalse(index.anyInRange(12.5, 14.9));
+    }
+
+    @Test
+    public void givenModemsWithoutPrice_whenIndexing_thenKeptApart() {
+        Modem noPrice = new Modem(null);
+        Modem nan = new Modem(Double.NaN);
+        ModemPriceIndex index = new ModemPriceIndex(Arrays.asList(noPrice, new Modem(10.0), nan, null));
+
+        assertEquals(Arrays.asList(noPrice), index.withoutPrice());
+        assertEquals(1, index.count(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+        assertEquals(0, index.count(Double.NaN, 20));
+        assertEquals(4, index.size());
+    }
+}
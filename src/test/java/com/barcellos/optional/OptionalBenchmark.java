@@ -0,0 +1,97 @@
+package com.barcellos.optional;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mede o custo de orElse x orElseGet e do encadeamento de Optionals do
+ * {@link OptionalTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionalBenchmark {
+
+    private String text = "Text present";
+    private String nullText = null;
+
+    private String getMyDefault() {
+        Blackhole.consumeCPU(100);
+        return "Default Value";
+    }
+
+    private Optional<String> getEmpty() {
+        return Optional.empty();
+    }
+
+    private Optional<String> getHello() {
+        return Optional.of("hello");
+    }
+
+    private Optional<String> getBye() {
+        return Optional.of("bye");
+    }
+
+    @Benchmark
+    public String orElseWhenPresent() {
+        return Optional.ofNullable(text).orElse(getMyDefault());
+    }
+
+    @Benchmark
+    public String orElseGetWhenPresent() {
+        return Optional.ofNullable(text).orElseGet(this::getMyDefault);
+    }
+
+    @Benchmark
+    public String orElseWhenAbsent() {
+        return Optional.ofNullable(nullText).orElse(getMyDefault());
+    }
+
+    @Benchmark
+    public String orElseGetWhenAbsent() {
+        return Optional.ofNullable(nullText).orElseGet(this::getMyDefault);
+    }
+
+    @Benchmark
+    public Optional<String> chainingEager() {
+        return Stream.of(getEmpty(), getHello(), getBye())
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst();
+    }
+
+    @Benchmark
+    public Optional<String> chainingLazy() {
+        return Stream.<Supplier<Optional<String>>>of(this::getEmpty, this::getHello, this::getBye)
+                .map(Supplier::get)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst();
+    }
+
+    @Benchmark
+    public Optional<String> chainingWithOr() {
+        return getEmpty().or(this::getHello).or(this::getBye);
+    }
+
+    @Benchmark
+    public Optional<String> flatMap() {
+        return Optional.of(new Person("john", 26)).flatMap(Person::getName);
+    }
+}
@@ -297,6 +297,26 @@ public class OptionalTest {
         assertFalse(priceIsInRange2(null));
     }
 
+    /**
+     * Em laços muito executados, os acessores primitivos evitam o Optional e o
+     * boxing de cada elemento
+     */
+    private boolean priceIsInRange3(Modem modem3) {
+        return modem3 != null
+                && modem3.hasPrice()
+                && modem3.getPriceAsDouble() >= 10
+                && modem3.getPriceAsDouble() <= 15;
+    }
+
+    @Test
+    public void whenFiltersWithPrimitiveAccessors_thenCorrect() {
+        assertTrue(priceIsInRange3(new Modem(10.0)));
+        assertFalse(priceIsInRange3(new Modem(9.9)));
+        assertFalse(priceIsInRange3(new Modem(null)));
+        assertFalse(priceIsInRange3(new Modem(15.5)));
+        assertFalse(priceIsInRange3(null));
+    }
+
     // 11. Transforming Value With map()
 
     @Test
@@ -442,8 +462,8 @@ public class OptionalTest {
     private static List<Person> doSearch(List<Person> people, String name, int age) {
         // Null checks for people and name
         return people.stream()
-                .filter(p -> p.getName().equals(name))
-                .filter(p -> p.getAge().get().intValue() >= age)
+                .filter(p -> p.hasName(name))
+                .filter(p -> p.getAgeAsInt() >= age)
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,117 @@
+package com.barcellos.optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class OptionalsTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Supplier<Optional<String>> after(long millis, String value) {
+        return () -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+            return Optional.ofNullable(value);
+        };
+    }
+
+    @Test
+    public void givenThreeSuppliers_whenSequential_thenFirstNonEmptyAndRestNotEvaluated() {
+        AtomicInteger evaluated = new AtomicInteger();
+
+        Optional<String> found = Optionals.firstPresent(
+                () -> {
+                    evaluated.incrementAndGet();
+                    return Optional.empty();
+                },
+                () -> {
+                    evaluated.incrementAndGet();
+                    return Optional.of("hello");
+                },
+                () -> {
+                    evaluated.incrementAndGet();
+                    return Optional.of("bye");
+                });
+
+        assertEquals(Optional.of("hello"), found);
+        assertEquals(2, evaluated.get());
+    }
+
+    @Test
+    public void givenEmptySuppliers_whenSequential_thenEmpty() {
+        List<Supplier<Optional<String>>> suppliers = Arrays.asList(Optional::empty, Optional::empty);
+
+        assertFalse(Optionals.firstPresent(suppliers).isPresent());
+    }
+
+    @Test
+    public void givenFasterLowerPriority_whenConcurrent_thenPriorityIsKept() {
+        List<Supplier<Optional<String>>> suppliers = Arrays.asList(
+                after(200, "cache"),
+                after(0, "replica"));
+
+        assertEquals(Optional.of("cache"), Optionals.firstPresentConcurrently(executor, suppliers));
+    }
+
+    @Test
+    public void givenSlowLowerPriority_whenConcurrent_thenReturnsWithoutWaitingAndCancels() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Supplier<Optional<String>> slowFallback = () -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Optional.of("fallback");
+        };
+
+        long start = System.nanoTime();
+        Optional<String> found = Optionals.firstPresentConcurrently(executor,
+                Arrays.asList(after(50, null), after(50, "replica"), slowFallback));
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(Optional.of("replica"), found);
+        assertTrue("took " + elapsed + "ms", elapsed < 10_000);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void givenAllEmpty_whenConcurrent_thenEmpty() {
+        assertFalse(Optionals.firstPresentConcurrently(executor,
+                Arrays.asList(after(10, null), after(0, null))).isPresent());
+        assertFalse(Optionals.<String>firstPresentConcurrently(executor, Arrays.asList()).isPresent());
+    }
+
+    @Test(expected = CompletionException.class)
+    public void givenHigherPriorityFails_whenConcurrent_thenFails() {
+        Supplier<Optional<String>> failing = () -> {
+            throw new IllegalStateException("cache down");
+        };
+
+        Optionals.firstPresentConcurrently(executor, Arrays.asList(failing, after(0, "replica")));
+    }
+}
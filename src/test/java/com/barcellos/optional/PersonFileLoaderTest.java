@@ -0,0 +1,111 @@
+package com.barcellos.optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PersonFileLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(String content) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private Path people(int size) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.append("name").append(i).append(',').append(i % 90);
+            if (i % 3 == 0) {
+                builder.append(",pwd").append(i);
+            }
+            builder.append('\n');
+        }
+        return write(builder.toString());
+    }
+
+    private String describe(Person person) {
+        return person.getName().orElse("-") + "/" + person.getAgeAsInt() + "/" + person.getPassword().orElse("-");
+    }
+
+    private List<String> load(Path path, int windowSize, boolean parallel) throws IOException {
+        try (Stream<Person> stream = PersonFileLoader.stream(path, windowSize)) {
+            return (parallel ? stream.parallel() : stream).map(this::describe).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void givenRecords_whenLoading_thenFieldsMatchFormat() throws IOException {
+        Path path = write("john,26\r\n,40,secret\n\nmária,-1,\nanna,7,a,b");
+
+        List<String> people = load(path, 1024, false);
+
+        assertEquals(4, people.size());
+        assertEquals("john/26/-", people.get(0));
+        assertEquals("-/40/secret", people.get(1));
+        assertEquals("mária/-1/-", people.get(2));
+        assertEquals("anna/7/a,b", people.get(3));
+    }
+
+    @Test
+    public void givenSmallWindow_whenLoading_thenRecordsCrossWindows() throws IOException {
+        Path path = people(5_000);
+
+        assertEquals(load(path, 1 << 20, false), load(path, 32, false));
+    }
+
+    @Test
+    public void givenLargeFile_whenLoadingInParallel_thenSameOrder() throws IOException {
+        Path path = people(200_000);
+
+        List<String> sequential = load(path, 1 << 20, false);
+        List<String> parallel = load(path, 1 << 20, true);
+
+        assertEquals(200_000, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals("name3/3/pwd3", sequential.get(3));
+    }
+
+    @Test
+    public void givenEmptyFile_whenLoading_thenEmpty() throws IOException {
+        try (Stream<Person> stream = PersonFileLoader.stream(write(""))) {
+            assertFalse(stream.findAny().isPresent());
+        }
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void givenInvalidAge_whenLoading_thenThrows() throws IOException {
+        load(write("john,abc\n"), 1024, false);
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void givenRecordLongerThanWindow_whenLoading_thenThrows() throws IOException {
+        load(write("john,1\nveryveryverylongname,2\n"), 8, false);
+    }
+
+    @Test
+    public void givenFile_whenLoading_thenPersonAccessorsWork() throws IOException {
+        try (Stream<Person> stream = PersonFileLoader.stream(write("john,26\n"))) {
+            Person john = stream.findFirst().get();
+
+            assertEquals(Optional.of("john"), john.getName());
+            assertEquals(Optional.of(26), john.getAge());
+        }
+    }
+}
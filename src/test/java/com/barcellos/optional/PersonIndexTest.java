@@ -0,0 +1,66 @@
+package com.barcellos.optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PersonIndexTest {
+
+    private static final String[] NAMES = { "john", "mary", "paul", "anna", null };
+
+    private List<Person> people(int size, long seed) {
+        Random random = new Random(seed);
+        List<Person> people = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            people.add(new Person(NAMES[random.nextInt(NAMES.length)], random.nextInt(90)));
+        }
+        return people;
+    }
+
+    @Test
+    public void givenPeople_whenSearchByName_thenSameResultAsLinearSearch() {
+        List<Person> people = people(1_000, 42);
+        PersonIndex index = new PersonIndex(people);
+
+        for (String name : NAMES) {
+            assertEquals(OptionalTest.search(people, name), index.search(name));
+        }
+    }
+
+    @Test
+    public void givenPeople_whenSearchByNameAndAge_thenSameResultAsLinearSearch() {
+        List<Person> people = people(1_000, 7);
+        PersonIndex index = new PersonIndex(people);
+
+        for (String name : NAMES) {
+            for (int age = -1; age <= 91; age++) {
+                assertEquals(OptionalTest.search(people, name, age), index.search(name, age));
+            }
+        }
+    }
+
+    @Test
+    public void givenEqualAges_whenSearch_thenOriginalOrderIsKept() {
+        Person first = new Person("john", 30);
+        Person second = new Person("john", 20);
+        Person third = new Person("john", 30);
+        PersonIndex index = new PersonIndex(Arrays.asList(first, second, third));
+
+        assertEquals(Arrays.asList(first, second, third), index.search("john"));
+        assertEquals(Arrays.asList(first, third), index.search("john", 30));
+    }
+
+    @Test
+    public void givenUnknownName_whenSearch_thenEmpty() {
+        PersonIndex index = new PersonIndex(people(100, 1));
+
+        assertTrue(index.search("nobody").isEmpty());
+        assertEquals(100, index.size());
+    }
+}
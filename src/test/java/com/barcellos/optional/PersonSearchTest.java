@@ -0,0 +1,64 @@
+package com.barcellos.optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class PersonSearchTest {
+
+    private List<Person> people(List<Person> people, int size) {
+        String[] names = { "john", "mary", "paul" };
+        Random random = new Random(5);
+        for (int i = 0; i < size; i++) {
+            people.add(new Person(names[random.nextInt(names.length)], random.nextInt(80)));
+        }
+        return people;
+    }
+
+    @Test
+    public void givenLargeList_whenOrdered_thenSameAsSequentialSearch() {
+        List<Person> people = people(new ArrayList<>(), 50_000);
+        PersonSearch search = new PersonSearch(1_000);
+
+        assertEquals(OptionalTest.search(people, "john", 30), search.search(people, "john", 30));
+    }
+
+    @Test
+    public void givenLinkedList_whenOrdered_thenSameAsSequentialSearch() {
+        List<Person> people = people(new LinkedList<>(), 20_000);
+        PersonSearch search = new PersonSearch(1_000);
+
+        assertEquals(OptionalTest.search(people, "mary", 50), search.search(people, "mary", 50));
+    }
+
+    @Test
+    public void givenLargeList_whenUnordered_thenSameElements() {
+        List<Person> people = people(new ArrayList<>(), 50_000);
+        PersonSearch search = new PersonSearch(1_000);
+
+        List<Person> expected = OptionalTest.search(people, "paul", 10);
+        List<Person> found = search.search(people, "paul", 10, false);
+
+        assertEquals(expected.size(), found.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(found));
+    }
+
+    @Test
+    public void givenSmallList_whenSearching_thenSequential() {
+        PersonSearch search = new PersonSearch();
+
+        assertFalse(search.isParallel(PersonSearch.DEFAULT_PARALLEL_THRESHOLD - 1));
+        assertEquals(ForkJoinPool.getCommonPoolParallelism() > 1,
+                search.isParallel(PersonSearch.DEFAULT_PARALLEL_THRESHOLD));
+        assertTrue(search.search(new ArrayList<>(), "john", 0).isEmpty());
+    }
+}
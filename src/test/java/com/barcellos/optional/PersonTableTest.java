@@ -0,0 +1,80 @@
+package com.barcellos.optional;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PersonTableTest {
+
+    @Test
+    public void givenPerson_whenAdded_thenGettersMatchPerson() {
+        Person john = new Person("john", 26);
+        Person anonymous = new Person(null, 40, "secret");
+
+        PersonTable table = PersonTable.of(Arrays.asList(john, anonymous));
+
+        assertEquals(2, table.size());
+        assertEquals(john.getName(), table.getName(0));
+        assertEquals(john.getAge(), table.getAge(0));
+        assertEquals(john.getPassword(), table.getPassword(0));
+        assertFalse(table.hasPassword(0));
+
+        assertEquals(anonymous.getName(), table.getName(1));
+        assertEquals(anonymous.getPassword(), table.getPassword(1));
+        assertTrue(table.hasPassword(1));
+    }
+
+    @Test
+    public void givenManyRows_whenFilterByName_thenSameResultAsLinearSearch() {
+        String[] names = { "john", "mary", "paul", null };
+        Random random = new Random(3);
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            people.add(new Person(names[random.nextInt(names.length)], random.nextInt(80),
+                    random.nextBoolean() ? "pwd" + i : null));
+        }
+
+        PersonTable table = PersonTable.of(people);
+
+        for (String name : names) {
+            for (int age = 0; age <= 80; age += 5) {
+                List<Person> expected = OptionalTest.search(people, name, age);
+                int[] rows = table.filterByName(name, age);
+
+                assertEquals(expected.size(), rows.length);
+                for (int i = 0; i < rows.length; i++) {
+                    assertTrue(expected.get(i) == people.get(rows[i]));
+                }
+            }
+        }
+
+        long withPassword = people.stream().filter(p -> p.getPassword().isPresent()).count();
+        assertEquals(withPassword, table.countWithPassword());
+        assertEquals(people.size() - withPassword, table.filterWithoutPassword().length);
+    }
+
+    @Test
+    public void givenAges_whenFilterByAgeRange_thenRowsInRange() {
+        PersonTable table = new PersonTable(0);
+        for (int age = 0; age < 100; age++) {
+            table.add("p" + (age % 3), age, null);
+        }
+
+        assertArrayEquals(new int[] { 18, 19, 20 }, table.filterByAge(18, 20));
+        assertEquals(3, table.countByAge(18, 20));
+        assertEquals(4950, table.sumOfAges());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void givenInvalidRow_whenGet_thenThrows() {
+        new PersonTable().getName(0);
+    }
+}
@@ -0,0 +1,104 @@
+package com.barcellos.optional;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara os laços de filtro do {@link OptionalTest} usando Optional com os
+ * acessores primitivos de {@link Person} e {@link Modem}.
+ *
+ * Com {@code -prof gc}, a métrica {@code gc.alloc.rate.norm} mostra quantos
+ * bytes cada variante aloca por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveAccessorBenchmark {
+
+    @Param({ "10000" })
+    private int size;
+
+    private Modem[] modems;
+    private Person[] people;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        String[] names = { "john", "mary", "paul" };
+
+        modems = new Modem[size];
+        people = new Person[size];
+        for (int i = 0; i < size; i++) {
+            modems[i] = new Modem(random.nextInt(10) == 0 ? null : random.nextDouble() * 20);
+            people[i] = new Person(names[random.nextInt(names.length)], random.nextInt(80));
+        }
+    }
+
+    @Benchmark
+    public int priceInRangeWithOptional() {
+        int count = 0;
+        for (Modem modem : modems) {
+            if (Optional.ofNullable(modem)
+                    .map(Modem::getPrice)
+                    .filter(p -> p >= 10)
+                    .filter(p -> p <= 15)
+                    .isPresent()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int priceInRangeWithPrimitive() {
+        int count = 0;
+        for (Modem modem : modems) {
+            if (modem != null && modem.hasPrice()) {
+                double price = modem.getPriceAsDouble();
+                if (price >= 10 && price <= 15) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int searchWithOptional() {
+        int count = 0;
+        for (Person person : people) {
+            if (person.getName().filter(n -> n.equals("john")).isPresent()
+                    && person.getAge().get().intValue() >= 30) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int searchWithPrimitive() {
+        int count = 0;
+        for (Person person : people) {
+            if (person.hasName("john") && person.getAgeAsInt() >= 30) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
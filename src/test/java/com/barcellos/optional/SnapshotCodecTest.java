@@ -0,0 +1,101 @@
+package com.barcellos.optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SnapshotCodecTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String describe(Person person) {
+        return person.getName().orElse(null) + "/" + person.getAgeAsInt() + "/" + person.getPassword().orElse(null);
+    }
+
+    private void assertSamePeople(List<Person> expected, List<Person> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(describe(expected.get(i)), describe(actual.get(i)));
+        }
+    }
+
+    @Test
+    public void givenPeople_whenRoundTripThroughFile_thenSameRecords() throws IOException {
+        Random random = new Random(13);
+        String[] names = { "john", "mary", "joão", null };
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 10_001; i++) {
+            int age = i % 100 == 0 ? random.nextInt() : random.nextInt(100);
+            String password = random.nextBoolean() ? "pwd" + random.nextInt(50) : null;
+            people.add(new Person(names[random.nextInt(names.length)], age, password));
+        }
+
+        Path path = folder.newFile().toPath();
+        SnapshotCodec.writePeople(path, people);
+
+        assertSamePeople(people, SnapshotCodec.readPeople(path));
+    }
+
+    @Test
+    public void givenRepeatedNames_whenWriting_thenStoredOnce() throws IOException {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            people.add(new Person("a-rather-long-repeated-name", 30));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotCodec.writePeople(Channels.newChannel(bytes), people);
+
+        // cabeçalho + tabela + bitmap (250 bytes) + 2 bytes por registro
+        assertTrue(bytes.size() < 2_400);
+        List<Person> read = SnapshotCodec.readPeople(ByteBuffer.wrap(bytes.toByteArray()));
+        assertTrue(read.get(0).getName().get() == read.get(999).getName().get());
+    }
+
+    @Test
+    public void givenModems_whenRoundTrip_thenSamePrices() throws IOException {
+        List<Modem> modems = Arrays.asList(new Modem(10.0), new Modem(null), new Modem(-0.5),
+                new Modem(Double.NaN), new Modem(null), new Modem(15.5), new Modem(1e300), new Modem(null),
+                new Modem(3.0));
+
+        Path path = folder.newFile().toPath();
+        SnapshotCodec.writeModems(path, modems);
+        List<Modem> read = SnapshotCodec.readModems(path);
+
+        assertEquals(modems.size(), read.size());
+        for (int i = 0; i < modems.size(); i++) {
+            assertEquals(modems.get(i).getPrice(), read.get(i).getPrice());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void givenModemSnapshot_whenReadAsPeople_thenThrows() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotCodec.writeModems(Channels.newChannel(bytes), Arrays.asList(new Modem(1.0)));
+
+        SnapshotCodec.readPeople(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    @Test(expected = IOException.class)
+    public void givenTruncatedSnapshot_whenReading_thenThrows() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotCodec.writePeople(Channels.newChannel(bytes), Arrays.asList(new Person("john", 26)));
+
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        SnapshotCodec.readPeople(ByteBuffer.wrap(truncated));
+    }
+}
@@ -0,0 +1,92 @@
+package com.barcellos.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.barcellos.optional.Person;
+
+/**
+ * Operações em lote do {@link InMemoryRepository} contra o laço item a item
+ * sobre uma {@link ConcurrentHashMap}, que não dá atomicidade ao lote.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryRepositoryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        @Param({ "1000" })
+        public int batch;
+
+        public InMemoryRepository<Person, String> repository;
+        public Map<String, Person> map;
+        public List<Person> people;
+        public List<String> ids;
+
+        @Setup
+        public void setup() {
+            repository = new InMemoryRepository<>(person -> person.getName().orElse(null));
+            map = new ConcurrentHashMap<>();
+            people = new ArrayList<>();
+            ids = new ArrayList<>();
+            for (int i = 0; i < 100_000; i++) {
+                Person person = new Person("person" + i, i % 90);
+                if (i < batch) {
+                    people.add(person);
+                    ids.add("person" + i * 37);
+                }
+                repository.save(person);
+                map.put("person" + i, person);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Person> repositorySaveAll(Data data) {
+        return data.repository.saveAll(data.people);
+    }
+
+    @Benchmark
+    public int mapPutEach(Data data) {
+        for (Person person : data.people) {
+            data.map.put(person.getName().orElse(null), person);
+        }
+        return data.map.size();
+    }
+
+    @Benchmark
+    public List<Person> repositoryFindAllById(Data data) {
+        return data.repository.findAllById(data.ids);
+    }
+
+    @Benchmark
+    public List<Person> mapGetEach(Data data) {
+        List<Person> found = new ArrayList<>(data.ids.size());
+        for (String id : data.ids) {
+            Person person = data.map.get(id);
+            if (person != null) {
+                found.add(person);
+            }
+        }
+        return found;
+    }
+}
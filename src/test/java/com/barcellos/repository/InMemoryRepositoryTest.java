@@ -0,0 +1,192 @@
+package com.barcellos.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.barcellos.optional.Modem;
+import com.barcellos.optional.Person;
+
+public class InMemoryRepositoryTest {
+
+    private static InMemoryRepository<Person, String> people() {
+        return new InMemoryRepository<>(person -> person.getName().orElse(null));
+    }
+
+    private static List<Person> people(int count, int age) {
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            people.add(new Person("person" + i, age));
+        }
+        return people;
+    }
+
+    @Test
+    public void givenSavedBatch_whenFoundById_thenFoundInIdOrder() {
+        InMemoryRepository<Person, String> repository = people();
+        List<Person> saved = repository.saveAll(people(1_000, 30));
+
+        assertEquals(1_000, saved.size());
+        assertEquals(1_000, repository.count());
+        List<Person> found = repository.findAllById(Arrays.asList("person7", "missing", "person3", "person7"));
+        assertEquals(2, found.size());
+        assertTrue(found.get(0).hasName("person7"));
+        assertTrue(found.get(1).hasName("person3"));
+        assertTrue(repository.existsById("person999"));
+        assertFalse(repository.findById("person1000").isPresent());
+    }
+
+    @Test
+    public void givenRandomBatches_whenComparedToHashMap_thenSameContent() {
+        InMemoryRepository<Person, String> repository = people();
+        Map<String, Person> expected = new HashMap<>();
+        Random random = new Random(25);
+
+        for (int round = 0; round < 2_000; round++) {
+            List<Person> batch = new ArrayList<>();
+            List<String> ids = new ArrayList<>();
+            for (int i = random.nextInt(20); i > 0; i--) {
+                Person person = new Person("person" + random.nextInt(500), round);
+                batch.add(person);
+                ids.add("person" + random.nextInt(500));
+            }
+            switch (random.nextInt(3)) {
+            case 0:
+                repository.saveAllAndFlush(batch);
+                batch.forEach(person -> expected.put(person.getName().get(), person));
+                break;
+            case 1:
+                repository.deleteAllByIdInBatch(ids);
+                ids.forEach(expected::remove);
+                break;
+            default:
+                repository.deleteAllInBatch(batch);
+                batch.forEach(person -> expected.remove(person.getName().get()));
+            }
+            assertEquals(expected.size(), repository.count());
+        }
+
+        List<Person> all = repository.findAll();
+        assertEquals(expected.size(), all.size());
+        for (Person person : all) {
+            assertTrue(person == expected.get(person.getName().get()));
+        }
+        repository.deleteAllInBatch();
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    public void givenDuplicatedIdsInBatch_whenSaved_thenLastWins() {
+        InMemoryRepository<Person, String> repository = people();
+        Person last = new Person("ana", 3);
+        repository.saveAll(Arrays.asList(new Person("ana", 1), new Person("bia", 2), last));
+
+        assertEquals(2, repository.count());
+        assertTrue(repository.findById("ana").get() == last);
+    }
+
+    @Test
+    public void givenNullIdInBatch_whenSaved_thenNothingSaved() {
+        InMemoryRepository<Person, String> repository = people();
+        try {
+            repository.saveAll(Arrays.asList(new Person("ana", 1), new Person(null, 2)));
+        } catch (IllegalArgumentException expected) {
+            assertEquals(0, repository.count());
+            return;
+        }
+        throw new AssertionError("null id accepted");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenNullId_whenFound_thenRejected() {
+        people().findAllById(Collections.singletonList(null));
+    }
+
+    @Test
+    public void givenModemsWithExternalIds_whenSaved_thenFound() {
+        Map<Modem, Integer> serials = new HashMap<>();
+        Modem cheap = new Modem(99.9);
+        Modem unpriced = new Modem(null);
+        serials.put(cheap, 1);
+        serials.put(unpriced, 2);
+        InMemoryRepository<Modem, Integer> repository = new InMemoryRepository<>(serials::get, 1);
+
+        repository.saveAll(Arrays.asList(cheap, unpriced));
+        repository.delete(cheap);
+
+        assertEquals(Collections.singletonList(unpriced), repository.findAll());
+    }
+
+    @Test
+    public void givenConcurrentBatches_whenRead_thenEachBatchSeenWhole() throws InterruptedException {
+        int keys = 200;
+        InMemoryRepository<Person, String> repository = people();
+        repository.saveAll(people(keys, 0));
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < keys; i++) {
+            ids.add("person" + i);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger torn = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < 2; t++) {
+            int first = t;
+            workers.add(new Thread(() -> {
+                await(start);
+                for (int version = first + 1; version < 2_000; version += 2) {
+                    repository.saveAll(people(keys, version));
+                }
+            }));
+            workers.add(new Thread(() -> {
+                await(start);
+                while (!done.get()) {
+                    // Todas as pessoas são gravadas juntas com a mesma idade.
+                    List<Person> found = repository.findAllById(ids);
+                    int age = found.get(0).getAgeAsInt();
+                    for (Person person : found) {
+                        if (person.getAgeAsInt() != age) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                    if (found.size() != keys) {
+                        torn.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        workers.forEach(Thread::start);
+        start.countDown();
+        workers.get(0).join();
+        workers.get(2).join();
+        done.set(true);
+        workers.get(1).join();
+        workers.get(3).join();
+
+        assertEquals(0, torn.get());
+        assertEquals(keys, repository.count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.barcellos.stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class ChunkedBuilderTest {
+
+    @Test
+    public void streamBuilder() {
+        Stream<String> streamBuilder = new ChunkedBuilder<String>().add("a").add("b").add("c").build();
+
+        assertEquals(Arrays.asList("a", "b", "c"), streamBuilder.collect(Collectors.toList()));
+    }
+
+    @Test
+    public void givenWrongCapacityHint_whenBuilt_thenAllElementsInOrder() {
+        for (int hint : new int[] { 0, 1, 7, 1_000, 100_000 }) {
+            ChunkedBuilder<Integer> builder = new ChunkedBuilder<>(hint);
+            for (int i = 0; i < 10_000; i++) {
+                builder.accept(i);
+            }
+
+            assertEquals(10_000, builder.size());
+            List<Integer> expected = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+            assertEquals(expected, builder.build().parallel().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void givenPrimitiveBuilders_whenParallel_thenSameAsSequential() {
+        ChunkedBuilder.OfInt ints = new ChunkedBuilder.OfInt(10);
+        ChunkedBuilder.OfLong longs = new ChunkedBuilder.OfLong(10);
+        ChunkedBuilder.OfDouble doubles = new ChunkedBuilder.OfDouble(10);
+        for (int i = 0; i < 100_000; i++) {
+            ints.add(i);
+            longs.add(i * 3L);
+            doubles.add(i / 2.0);
+        }
+
+        assertArrayEquals(IntStream.range(0, 100_000).toArray(), ints.build().parallel().toArray());
+        assertEquals(3L * 99_999 * 100_000 / 2, longs.build().parallel().sum());
+        assertEquals(99_999 * 100_000L / 4.0, doubles.build().parallel().sum(), 1e-6);
+    }
+
+    @Test
+    public void givenSpliterator_whenSplit_thenHalvesAreExactAcrossChunks() {
+        ChunkedBuilder.OfInt builder = new ChunkedBuilder.OfInt(3);
+        for (int i = 0; i < 101; i++) {
+            builder.add(i);
+        }
+        Spliterator.OfInt right = builder.build().spliterator();
+        Spliterator.OfInt left = right.trySplit();
+
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(50, left.estimateSize());
+        assertEquals(51, right.estimateSize());
+
+        List<Integer> seen = new ArrayList<>();
+        left.forEachRemaining((int value) -> seen.add(value));
+        right.tryAdvance((int value) -> seen.add(value));
+        assertEquals(IntStream.rangeClosed(0, 50).boxed().collect(Collectors.toList()), seen);
+    }
+
+    @Test
+    public void givenEmptyBuilder_whenBuilt_thenEmptyStream() {
+        assertEquals(0, new ChunkedBuilder<String>(0).build().count());
+        assertEquals(0, new ChunkedBuilder.OfInt().build().sum());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void givenBuiltBuilder_whenAdding_thenIllegalState() {
+        ChunkedBuilder<String> builder = new ChunkedBuilder<>();
+        builder.build();
+        builder.add("late");
+    }
+}
@@ -0,0 +1,160 @@
+package com.barcellos.stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class DelimitedTokenizerTest {
+
+    private List<String> regex(String delimiter, String input) {
+        return Pattern.compile(Pattern.quote(delimiter)).splitAsStream(input).collect(Collectors.toList());
+    }
+
+    private List<String> tokenizer(String delimiter, String input) {
+        return DelimitedTokenizer.on(delimiter).split(input).collect(Collectors.toList());
+    }
+
+    @Test
+    public void streamString() {
+        assertEquals(Arrays.asList("a", "b", "c"), tokenizer(", ", "a, b, c"));
+        assertEquals(3, DelimitedTokenizer.on(", ").count("a, b, c"));
+    }
+
+    @Test
+    public void givenEdgeCases_whenSplit_thenSameAsSplitAsStream() {
+        for (String input : Arrays.asList("", ",", ",,", "a", ",a", "a,", "a,,", ",,a,,b,,", "a,b,,c")) {
+            assertEquals(input, regex(",", input), tokenizer(",", input));
+        }
+        for (String input : Arrays.asList("aaa", "aaaa", "aa", "baab", "aaab")) {
+            assertEquals(input, regex("aa", input), tokenizer("aa", input));
+        }
+    }
+
+    @Test
+    public void givenRandomInput_whenSplit_thenSameAsSplitAsStream() {
+        Random random = new Random(9);
+        char[] alphabet = { 'a', 'b', ',', ' ' };
+
+        for (int round = 0; round < 2_000; round++) {
+            char[] chars = new char[random.nextInt(30)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String input = new String(chars);
+
+            assertEquals(input, regex(", ", input), tokenizer(", ", input));
+        }
+    }
+
+    @Test
+    public void givenParallelStream_whenSplit_thenSameOrder() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.append("token").append(i).append(", ");
+        }
+        String input = builder.toString();
+
+        List<String> parallel = DelimitedTokenizer.on(", ").split(input).parallel().collect(Collectors.toList());
+
+        assertEquals(regex(", ", input), parallel);
+    }
+
+    @Test
+    public void givenLargeRandomInput_whenSplitInParallel_thenSameAsSplitAsStream() {
+        Random random = new Random(90);
+        char[] alphabet = { 'a', 'b', ',', ' ' };
+
+        for (int round = 0; round < 20; round++) {
+            char[] chars = new char[50_000 + random.nextInt(50_000)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String input = new String(chars);
+
+            for (String delimiter : Arrays.asList(",", ", ", ",,", "a ,")) {
+                List<String> parallel = DelimitedTokenizer.on(delimiter).split(input).parallel()
+                        .collect(Collectors.toList());
+                assertEquals(delimiter, regex(delimiter, input), parallel);
+                assertEquals(delimiter, parallel.size(), DelimitedTokenizer.on(delimiter).count(input));
+            }
+        }
+    }
+
+    @Test
+    public void givenSpliterator_whenSplit_thenPrefixEndsAfterDelimiter() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.append("token").append(i).append(", ");
+        }
+        Spliterator<CharSequence> spliterator = DelimitedTokenizer.on(", ").spliterator(builder);
+        Spliterator<CharSequence> prefix = spliterator.trySplit();
+
+        List<String> tokens = new ArrayList<>();
+        prefix.forEachRemaining(token -> tokens.add(token.toString()));
+        int split = tokens.size();
+        spliterator.forEachRemaining(token -> tokens.add(token.toString()));
+
+        assertTrue(split > 0 && split < 10_000);
+        assertEquals(regex(", ", builder.toString()), tokens);
+        assertEquals(0, spliterator.characteristics() & Spliterator.SIZED);
+    }
+
+    @Test
+    public void givenOverlappingDelimiter_whenSplitInParallel_thenNotSplit() {
+        String input = String.join("", Collections.nCopies(100_000, "aab"));
+        DelimitedTokenizer tokenizer = DelimitedTokenizer.on("aa");
+
+        assertNull(tokenizer.spliterator(input).trySplit());
+        assertEquals(regex("aa", input), tokenizer.split(input).parallel().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void givenFindFirst_whenTokenized_thenOnlyPrefixScanned() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            builder.append("token").append(i).append(", ");
+        }
+        AtomicInteger reads = new AtomicInteger();
+        CharSequence input = new CharSequence() {
+            @Override
+            public int length() {
+                return builder.length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                reads.incrementAndGet();
+                return builder.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return builder.subSequence(start, end);
+            }
+        };
+
+        assertEquals("token0", DelimitedTokenizer.on(", ").split(input).findFirst().get());
+        assertTrue(reads.get() < 100);
+    }
+
+    @Test
+    public void givenToken_whenSubSequence_thenViewOverSource() {
+        CharSequence token = DelimitedTokenizer.on(", ").tokens("alpha, beta").skip(1).findFirst().get();
+
+        assertEquals(4, token.length());
+        assertEquals('e', token.charAt(1));
+        assertEquals("et", token.subSequence(1, 3).toString());
+    }
+}
@@ -0,0 +1,82 @@
+package com.barcellos.stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class GeneratorsTest {
+
+    @Test
+    public void streamIterate() {
+        int[] expected = Stream.iterate(40, n -> n + 2).limit(20).mapToInt(Integer::intValue).toArray();
+
+        assertArrayEquals(expected, Generators.arithmetic(40, 2, 20).toArray());
+        assertArrayEquals(expected, Generators.arithmetic(40, 2, 20).parallel().toArray());
+        assertEquals(20, Generators.arithmetic(40, 2, 20).count());
+    }
+
+    @Test
+    public void streamGenerate() {
+        List<String> generated = Generators.indexed(10, i -> "element").collect(Collectors.toList());
+
+        assertEquals(Stream.generate(() -> "element").limit(10).collect(Collectors.toList()), generated);
+    }
+
+    @Test
+    public void givenLargeSequence_whenParallel_thenSameSumAsSequential() {
+        long count = 3_000_001;
+
+        assertEquals(Generators.arithmetic(7L, 3L, count).sum(), Generators.arithmetic(7L, 3L, count).parallel().sum());
+        assertEquals(count * (count - 1) / 2, Generators.indexedLong(count, i -> i).parallel().sum());
+        assertEquals(Generators.arithmetic(0.5, 0.25, count).sum(),
+                Generators.arithmetic(0.5, 0.25, count).parallel().sum(), 1e-3);
+    }
+
+    @Test
+    public void givenDoubleStep_whenGenerated_thenNoAccumulatedError() {
+        double[] values = Generators.arithmetic(0.0, 0.1, 1_000).toArray();
+        double[] iterated = DoubleStream.iterate(0.0, n -> n + 0.1).limit(1_000).toArray();
+
+        assertEquals(99.9, values[999], 0.0);
+        assertTrue(iterated[999] != 99.9);
+    }
+
+    @Test
+    public void givenSpliterator_whenSplit_thenHalvesAreExact() {
+        Spliterator.OfInt right = Generators.arithmetic(0, 1, 101).spliterator();
+        Spliterator.OfInt left = right.trySplit();
+
+        assertTrue(right.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(50, left.estimateSize());
+        assertEquals(51, right.estimateSize());
+
+        int[] first = new int[1];
+        left.tryAdvance((int value) -> first[0] = value);
+        assertEquals(0, first[0]);
+        right.tryAdvance((int value) -> first[0] = value);
+        assertEquals(50, first[0]);
+    }
+
+    @Test
+    public void givenIntOverflow_whenGenerated_thenWrapsLikeAddition() {
+        int[] expected = Stream.iterate(Integer.MAX_VALUE - 1, n -> n + 1).limit(4).mapToInt(Integer::intValue)
+                .toArray();
+
+        assertArrayEquals(expected, Generators.arithmetic(Integer.MAX_VALUE - 1, 1, 4).toArray());
+        assertEquals(Arrays.asList(), Generators.indexed(0, i -> "x").collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenNegativeCount_whenGenerating_thenIllegalArgument() {
+        Generators.indexedInt(-1, i -> 0);
+    }
+}
@@ -0,0 +1,158 @@
+package com.barcellos.stream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mede as formas de criação de stream mostradas no {@link StreamTest}, todas
+ * produzindo {@code size} elementos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmark {
+
+    @Param({ "10000" })
+    private int size;
+
+    private List<String> collection;
+    private String[] array;
+    private String joined;
+    private Pattern pattern;
+    private DelimitedTokenizer tokenizer;
+
+    @Setup
+    public void setup() {
+        array = new String[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = "e" + i;
+        }
+        collection = Arrays.asList(array);
+        joined = String.join(", ", array);
+        pattern = Pattern.compile(", ");
+        tokenizer = DelimitedTokenizer.on(", ");
+    }
+
+    @Benchmark
+    public long streamOfCollection() {
+        return collection.stream().filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public long streamOfArray() {
+        return Arrays.stream(array).filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public long streamBuilder() {
+        Stream.Builder<String> builder = Stream.builder();
+        for (String element : array) {
+            builder.add(element);
+        }
+        return builder.build().filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public long chunkedBuilder() {
+        ChunkedBuilder<String> builder = new ChunkedBuilder<>();
+        for (String element : array) {
+            builder.add(element);
+        }
+        return builder.build().filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public long chunkedBuilderWithCapacity() {
+        ChunkedBuilder<String> builder = new ChunkedBuilder<>(size);
+        for (String element : array) {
+            builder.add(element);
+        }
+        return builder.build().filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public long streamGenerate() {
+        return Stream.generate(() -> "element").limit(size).filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public int streamIterate() {
+        return Stream.iterate(40, n -> n + 2).limit(size).mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int streamIterateParallel() {
+        return Stream.iterate(40, n -> n + 2).limit(size).parallel().mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int generatorsArithmetic() {
+        return Generators.arithmetic(40, 2, size).sum();
+    }
+
+    @Benchmark
+    public int generatorsArithmeticParallel() {
+        return Generators.arithmetic(40, 2, size).parallel().sum();
+    }
+
+    @Benchmark
+    public long generatorsIndexed() {
+        return Generators.indexed(size, i -> "element").filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public int intStreamRange() {
+        return IntStream.range(0, size).map(n -> 40 + 2 * n).sum();
+    }
+
+    @Benchmark
+    public long longStreamRangeClosed() {
+        return LongStream.rangeClosed(1, size).sum();
+    }
+
+    @Benchmark
+    public double doubleStreamIterate() {
+        return DoubleStream.iterate(0.5, n -> n + 1).limit(size).sum();
+    }
+
+    @Benchmark
+    public long streamString() {
+        return pattern.splitAsStream(joined).filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public long streamStringTokenizer() {
+        return tokenizer.tokens(joined).filter(s -> s.length() != 0).count();
+    }
+
+    @Benchmark
+    public long streamStringParallel() {
+        return pattern.splitAsStream(joined).parallel().filter(s -> !s.isEmpty()).count();
+    }
+
+    @Benchmark
+    public long streamStringTokenizerParallel() {
+        return tokenizer.tokens(joined).parallel().filter(s -> s.length() != 0).count();
+    }
+}